@@ -1,26 +1,47 @@
 package com.restaurant.cart.controller;
 
 import com.restaurant.cart.controller.dto.CartDeliveredResponse;
+import com.restaurant.cart.controller.dto.CartItemsRequest;
 import com.restaurant.cart.controller.dto.CartResponse;
 import com.restaurant.cart.controller.dto.CartStatisticResponse;
 import com.restaurant.cart.controller.dto.OrderDate;
+import com.restaurant.cart.controller.dto.OrderSeriesResponse;
+import com.restaurant.cart.controller.dto.TopSoldFoodResponse;
+import com.restaurant.cart.controller.validator.CartValidator;
+import com.restaurant.cart.service.current.CartCommandService;
 import com.restaurant.cart.service.current.CartService;
-import com.restaurant.cart.service.current.dto.Cart;
+import com.restaurant.cart.service.current.dto.AddFoodResult;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
 import com.restaurant.common.ConstantValues;
+import com.restaurant.common.IdempotencyCache;
 import com.restaurant.common.Status;
 import com.restaurant.food.service.FoodService;
-import com.restaurant.food.service.dto.Food;
 import com.restaurant.user.service.UserService;
 import com.restaurant.user.service.dto.User;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -29,71 +50,66 @@ public class CartController {
 
     private static final CartControllerMapper cartControllerMapper = CartControllerMapper.INSTANCE;
 
+    private static final String BODY_HASH_ALGORITHM = "SHA-256";
+
     private final CartService cartService;
 
     private final UserService userService;
 
     private final FoodService foodService;
 
+    private final CartCommandService cartCommandService;
+
+    private final CartValidator cartValidator;
+
+    private final IdempotencyCache idempotencyCache;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(CartController.class);
 
-    public CartController(CartService cartService, UserService userService, FoodService foodService) {
+    public CartController(CartService cartService, UserService userService, FoodService foodService,
+                          CartCommandService cartCommandService, IdempotencyCache idempotencyCache) {
         this.cartService = cartService;
         this.userService = userService;
         this.foodService = foodService;
+        this.cartCommandService = cartCommandService;
+        this.cartValidator = new CartValidator();
+        this.idempotencyCache = idempotencyCache;
     }
 
     @PutMapping("/categories/{categoryId}/food/{foodId}/order")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<CartResponse> addToOrder(@PathVariable Long categoryId, @PathVariable Long foodId) {
-        var user = getUser();
-        if (user.isEmpty()) {
-            LOGGER.warn(ConstantValues.NO_ACCESS);
-            return ResponseEntity.status(FORBIDDEN).build();
-        }
-
-        if (!foodService.existsByCategoryIdAndFoodId(categoryId, foodId)) {
-            LOGGER.warn(ConstantValues.FOOD_WITH_CATEGORY_NOT_EXISTS);
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<CartResponse> addToOrder(
+            @PathVariable Long categoryId,
+            @PathVariable Long foodId,
+            @RequestHeader(value = ConstantValues.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        var userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return withIdempotencyKey(idempotencyKey, "addToOrder/" + categoryId + "/" + foodId,
+                () -> getAddFoodResponse(cartCommandService.addFoodToCart(userEmail, categoryId, foodId)));
+    }
 
-        if (cartService.getOrderStatus(user.get().userId()).equals(Status.IN_DELIVERY)) {
-            LOGGER.warn(ConstantValues.ORDER_IN_DELIVERY);
-            return ResponseEntity.status(CONFLICT).build();
+    @PutMapping("/food/order")
+    @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
+    public ResponseEntity<CartResponse> addItemsToOrder(
+            @RequestBody CartItemsRequest cartItemsRequest,
+            @RequestHeader(value = ConstantValues.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (cartValidator.isCartItemsRequestNotValid(cartItemsRequest)) {
+            LOGGER.warn(ConstantValues.INVALID_REQUEST_BODY);
+            return ResponseEntity.badRequest().build();
         }
 
-        var food = getFood(categoryId, foodId);
+        var userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        var cartItems = cartControllerMapper.cartItemRequestsToCartItems(cartItemsRequest.items());
 
-        return cartService.addFoodToCart(user.get(), food)
-                .map(cartControllerMapper::cartToCartResponse)
-                .map(result -> ResponseEntity.ok().body(result))
-                .orElseGet(() -> {
-                    LOGGER.warn(ConstantValues.NOT_ENOUGH_MONEY);
-                    return ResponseEntity.status(PAYMENT_REQUIRED).build();
-                });
+        return withIdempotencyKey(idempotencyKey, "addItemsToOrder/" + getBodyHash(cartItemsRequest),
+                () -> getAddFoodResponse(cartCommandService.addFoodToCart(userEmail, cartItems)));
     }
 
     @PutMapping("/users/{userId}/cart/order")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<CartResponse> confirmOrder(@PathVariable Long userId) {
-        var user = getUser();
-        if (user.isEmpty()) {
-            LOGGER.warn(ConstantValues.NO_ACCESS);
-            return ResponseEntity.status(FORBIDDEN).build();
-        }
-
-        var cart = cartService.getCart(userId);
-        if (cart.isEmpty()) {
-            LOGGER.warn(ConstantValues.EMPTY_CART);
-            return ResponseEntity.notFound().build();
-        }
-
-        userService.completeOrder(userId, getCartValue(cart));
-        cartService.changeStatus(userId);
-
-        return ResponseEntity.ok().body(
-                cartControllerMapper.cartToCartResponse(cart.get())
-        );
+    public ResponseEntity<CartResponse> confirmOrder(
+            @PathVariable Long userId,
+            @RequestHeader(value = ConstantValues.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotencyKey(idempotencyKey, "confirmOrder/" + userId, () -> getConfirmOrderResponse(userId));
     }
 
     @PostMapping("/users/{userId}/cart/order")
@@ -151,17 +167,30 @@ public class CartController {
 
     @GetMapping("/users/{userId}/order")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<CartDeliveredResponse> getAllUserOrders(@PathVariable Long userId) {
+    public ResponseEntity<CartDeliveredResponse> getAllUserOrders(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ConstantValues.DEFAULT_PAGE_SIZE) Integer limit) {
         var user = userService.getUserById(userId);
         if (user.isEmpty()) {
             LOGGER.warn(ConstantValues.NO_ACCESS);
             return ResponseEntity.status(FORBIDDEN).build();
         }
 
-        return ResponseEntity.ok().body(
-                new CartDeliveredResponse(cartService.getOverallCartValue(userId),
-                        cartControllerMapper.cartDeliveredsToCartResponseDelivereds(
-                                cartService.getAllDeliveredCart(userId)).stream().toList()));
+        if (limit < 1 || limit > ConstantValues.MAX_PAGE_SIZE) {
+            LOGGER.warn(ConstantValues.INVALID_PAGE_SIZE);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return cartService.getDeliveredCartPage(userId, cursor, limit)
+                .map(page -> ResponseEntity.ok().body(
+                        new CartDeliveredResponse(cartService.getOverallCartValue(userId),
+                                cartControllerMapper.cartDeliveredsToCartResponseDelivereds(page.carts()),
+                                page.nextCursor())))
+                .orElseGet(() -> {
+                    LOGGER.warn(ConstantValues.INVALID_CURSOR);
+                    return ResponseEntity.badRequest().build();
+                });
     }
 
     @PostMapping("/orders")
@@ -173,9 +202,72 @@ public class CartController {
         ));
     }
 
+    @GetMapping("/orders/top")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<TopSoldFoodResponse> getTopSoldFood(
+            @RequestParam(defaultValue = "week") String orderDate,
+            @RequestParam(defaultValue = "quantity") String ranking,
+            @RequestParam(defaultValue = ConstantValues.DEFAULT_TOP_SIZE) Integer limit) {
+        var soldFoodRanking = SoldFoodRanking.fromName(ranking);
+        if (soldFoodRanking.isEmpty() || limit < 1 || limit > ConstantValues.MAX_TOP_SIZE) {
+            LOGGER.warn(ConstantValues.INVALID_TOP_SOLD_FOOD);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok().body(new TopSoldFoodResponse(
+                soldFoodRanking.get().name().toLowerCase(),
+                cartControllerMapper.soldFoodSummaryToSoldFoodSummaryResponse(
+                        cartService.getTopSoldFood(new OrderDate(orderDate), soldFoodRanking.get(), limit))
+        ));
+    }
+
+    @GetMapping("/orders/series")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<OrderSeriesResponse> getOrderSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(defaultValue = "day") String bucket) {
+        var seriesBucket = SeriesBucket.fromName(bucket);
+        if (seriesBucket.isEmpty() || !from.isBefore(to) || Duration.between(from, to)
+                .dividedBy(seriesBucket.get().getDuration()) >= ConstantValues.MAX_SERIES_POINTS) {
+            LOGGER.warn(ConstantValues.INVALID_SERIES);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok().body(new OrderSeriesResponse(
+                seriesBucket.get().name().toLowerCase(),
+                cartControllerMapper.orderSeriesPointsToOrderSeriesPointResponses(
+                        cartService.getOrderSeries(from, to, seriesBucket.get()))
+        ));
+    }
+
+    @GetMapping("/orders/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        var exportFormat = ExportFormat.fromName(format);
+        if (exportFormat.isEmpty() || to.isBefore(from)) {
+            LOGGER.warn(ConstantValues.INVALID_EXPORT);
+            return ResponseEntity.badRequest().build();
+        }
+
+        var zone = ZoneId.systemDefault();
+        var fromDate = from.atStartOfDay(zone);
+        var toDate = to.plusDays(1).atStartOfDay(zone);
+        StreamingResponseBody body = outputStream ->
+                cartService.exportOrders(fromDate, toDate, exportFormat.get(), outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.get().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-" + from + "-" + to + "."
+                        + exportFormat.get().name().toLowerCase() + "\"")
+                .body(body);
+    }
+
     @DeleteMapping("/users/{userId}/cart/order")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    @Transactional
     public ResponseEntity<Void> cancelOrder(@PathVariable Long userId) {
         var user = userService.getUserById(userId);
         if (user.isEmpty()) {
@@ -193,7 +285,37 @@ public class CartController {
 
     @PostMapping("/categories/{categoryId}/food/{foodId}/order")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN')")
-    public ResponseEntity<Void> deleteFromOrder(@PathVariable Long categoryId, @PathVariable Long foodId) {
+    public ResponseEntity<Void> deleteFromOrder(
+            @PathVariable Long categoryId,
+            @PathVariable Long foodId,
+            @RequestHeader(value = ConstantValues.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return withIdempotencyKey(idempotencyKey, "deleteFromOrder/" + categoryId + "/" + foodId,
+                () -> getDeleteFromOrderResponse(categoryId, foodId));
+    }
+
+    private ResponseEntity<CartResponse> getConfirmOrderResponse(Long userId) {
+        var user = getUser();
+        if (user.isEmpty()) {
+            LOGGER.warn(ConstantValues.NO_ACCESS);
+            return ResponseEntity.status(FORBIDDEN).build();
+        }
+
+        var result = cartCommandService.confirmOrder(userId);
+
+        return switch (result.status()) {
+            case EMPTY_CART -> {
+                LOGGER.warn(ConstantValues.EMPTY_CART);
+                yield ResponseEntity.notFound().build();
+            }
+            case NOT_ENOUGH_MONEY -> {
+                LOGGER.warn(ConstantValues.NOT_ENOUGH_MONEY);
+                yield ResponseEntity.status(PAYMENT_REQUIRED).build();
+            }
+            case CONFIRMED -> ResponseEntity.ok().body(cartControllerMapper.cartToCartResponse(result.cart()));
+        };
+    }
+
+    private ResponseEntity<Void> getDeleteFromOrderResponse(Long categoryId, Long foodId) {
         var user = getUser();
         if (user.isEmpty()) {
             LOGGER.warn(ConstantValues.NO_ACCESS);
@@ -214,16 +336,65 @@ public class CartController {
 
         var food = foodService.getFoodByCategoryIdAndFoodId(categoryId, foodId).get();
 
-        if (!cartService.existsFoodByName(userId, food.foodName())) {
+        if (!cartService.cancelSpecificOrder(userId, food)) {
             LOGGER.warn(ConstantValues.ORDER_WITHOUT_FOOD);
             return ResponseEntity.badRequest().build();
         }
 
-        cartService.cancelSpecificOrder(userId, food);
-
         return ResponseEntity.ok().build();
     }
 
+    private <T> ResponseEntity<T> withIdempotencyKey(String idempotencyKey, String operation,
+                                                     Supplier<ResponseEntity<T>> request) {
+        if (idempotencyKey == null) {
+            return request.get();
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > ConstantValues.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            LOGGER.warn(ConstantValues.INVALID_IDEMPOTENCY_KEY);
+            return ResponseEntity.badRequest().build();
+        }
+
+        var userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return idempotencyCache.execute(userEmail + "/" + operation + "/" + idempotencyKey, request);
+    }
+
+    private String getBodyHash(CartItemsRequest cartItemsRequest) {
+        // a key reused with different items is a different request and must not replay the first response
+        var body = cartItemsRequest.items().stream()
+                .map(item -> item.categoryId() + ":" + item.foodId() + ":" + item.quantity())
+                .collect(Collectors.joining(","));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(BODY_HASH_ALGORITHM)
+                    .digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // every java platform is required to support sha-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ResponseEntity<CartResponse> getAddFoodResponse(AddFoodResult result) {
+        return switch (result.status()) {
+            case NO_USER -> {
+                LOGGER.warn(ConstantValues.NO_ACCESS);
+                yield ResponseEntity.status(FORBIDDEN).build();
+            }
+            case NO_FOOD -> {
+                LOGGER.warn(ConstantValues.FOOD_WITH_CATEGORY_NOT_EXISTS);
+                yield ResponseEntity.notFound().build();
+            }
+            case IN_DELIVERY -> {
+                LOGGER.warn(ConstantValues.ORDER_IN_DELIVERY);
+                yield ResponseEntity.status(CONFLICT).build();
+            }
+            case NOT_ENOUGH_MONEY -> {
+                LOGGER.warn(ConstantValues.NOT_ENOUGH_MONEY);
+                yield ResponseEntity.status(PAYMENT_REQUIRED).build();
+            }
+            case ADDED -> ResponseEntity.ok().body(cartControllerMapper.cartToCartResponse(result.cart()));
+        };
+    }
+
     private Optional<User> getUser() {
         var userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         if (!userService.existsUserByEmail(userEmail)) {
@@ -232,12 +403,4 @@ public class CartController {
 
         return userService.getUserByEmail(userEmail);
     }
-
-    private Double getCartValue(Optional<Cart> cartModel) {
-        return ConstantValues.my_format(cartModel.get().cartValue());
-    }
-
-    private Food getFood(Long categoryId, Long foodId) {
-        return foodService.getFoodByCategoryIdAndFoodId(categoryId, foodId).get();
-    }
 }
@@ -1,11 +1,15 @@
 package com.restaurant.cart.controller;
 
+import com.restaurant.cart.controller.dto.CartItemRequest;
 import com.restaurant.cart.controller.dto.CartResponse;
 import com.restaurant.cart.controller.dto.CartResponseDelivered;
+import com.restaurant.cart.controller.dto.OrderSeriesPointResponse;
 import com.restaurant.cart.controller.dto.SoldFoodSummaryResponse;
 import com.restaurant.cart.service.current.dto.Cart;
+import com.restaurant.cart.service.current.dto.CartItem;
 import com.restaurant.cart.service.current.dto.SoldFoodSummary;
 import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
@@ -18,6 +22,8 @@ public interface CartControllerMapper {
 
     CartResponse cartToCartResponse(Cart cart);
 
+    List<CartItem> cartItemRequestsToCartItems(List<CartItemRequest> cartItemRequests);
+
     default List<CartResponseDelivered> cartDeliveredsToCartResponseDelivereds(List<CartDelivered> cartDelivered) {
         return cartDelivered.stream()
                 .map(this::cartDeliveredToCartResponseDelivered)
@@ -27,4 +33,6 @@ public interface CartControllerMapper {
     CartResponseDelivered cartDeliveredToCartResponseDelivered(CartDelivered cartDelivered);
 
     List<SoldFoodSummaryResponse> soldFoodSummaryToSoldFoodSummaryResponse(List<SoldFoodSummary> overallSoldFood);
+
+    List<OrderSeriesPointResponse> orderSeriesPointsToOrderSeriesPointResponses(List<OrderSeriesPoint> orderSeriesPoints);
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 public record CartDeliveredResponse(
         Double overallCartValue,
-        List<CartResponseDelivered> cartResponses
+        List<CartResponseDelivered> cartResponses,
+        String nextCursor
 ) {
 }
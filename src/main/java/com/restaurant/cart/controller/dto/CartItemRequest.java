@@ -0,0 +1,8 @@
+package com.restaurant.cart.controller.dto;
+
+public record CartItemRequest(
+        Long categoryId,
+        Long foodId,
+        Integer quantity
+) {
+}
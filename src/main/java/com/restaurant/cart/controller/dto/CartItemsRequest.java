@@ -0,0 +1,8 @@
+package com.restaurant.cart.controller.dto;
+
+import java.util.List;
+
+public record CartItemsRequest(
+        List<CartItemRequest> items
+) {
+}
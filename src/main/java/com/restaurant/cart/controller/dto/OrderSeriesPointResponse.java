@@ -0,0 +1,11 @@
+package com.restaurant.cart.controller.dto;
+
+import java.time.ZonedDateTime;
+
+public record OrderSeriesPointResponse(
+        ZonedDateTime bucketStart,
+        Long ordersCount,
+        Double revenue,
+        Long itemsSold
+) {
+}
@@ -0,0 +1,9 @@
+package com.restaurant.cart.controller.dto;
+
+import java.util.List;
+
+public record OrderSeriesResponse(
+        String bucket,
+        List<OrderSeriesPointResponse> points
+) {
+}
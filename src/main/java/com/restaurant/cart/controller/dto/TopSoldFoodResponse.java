@@ -0,0 +1,9 @@
+package com.restaurant.cart.controller.dto;
+
+import java.util.List;
+
+public record TopSoldFoodResponse(
+        String ranking,
+        List<SoldFoodSummaryResponse> soldFoodSummaries
+) {
+}
@@ -0,0 +1,21 @@
+package com.restaurant.cart.controller.validator;
+
+import com.restaurant.cart.controller.dto.CartItemRequest;
+import com.restaurant.cart.controller.dto.CartItemsRequest;
+import com.restaurant.common.ConstantValues;
+
+public class CartValidator {
+
+    public boolean isCartItemsRequestNotValid(CartItemsRequest cartItemsRequest) {
+        return !(cartItemsRequest instanceof CartItemsRequest) || cartItemsRequest.items() == null ||
+                cartItemsRequest.items().isEmpty() || cartItemsRequest.items().size() > ConstantValues.MAX_CART_ITEMS ||
+                cartItemsRequest.items().stream().anyMatch(this::isCartItemRequestNotValid);
+    }
+
+    private boolean isCartItemRequestNotValid(CartItemRequest cartItemRequest) {
+        return cartItemRequest == null || cartItemRequest.categoryId() == null || cartItemRequest.categoryId() <= 0 ||
+                cartItemRequest.foodId() == null || cartItemRequest.foodId() <= 0 ||
+                cartItemRequest.quantity() == null || cartItemRequest.quantity() <= 0 ||
+                cartItemRequest.quantity() > ConstantValues.MAX_CART_ITEM_QUANTITY;
+    }
+}
@@ -3,6 +3,7 @@ package com.restaurant.cart.repository.converter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.restaurant.common.ConstantValues;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
@@ -18,6 +19,9 @@ public class FoodNameConverter implements AttributeConverter<List<String>, Strin
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    private static final ObjectReader LIST_READER = OBJECT_MAPPER.readerFor(new TypeReference<List<String>>() {
+    });
+
     private static final Logger LOGGER = LoggerFactory.getLogger(FoodNameConverter.class);
 
     @Override
@@ -51,8 +55,7 @@ public class FoodNameConverter implements AttributeConverter<List<String>, Strin
         }
 
         try {
-            return OBJECT_MAPPER.readValue(food, new TypeReference<>() {
-            });
+            return LIST_READER.readValue(food);
         } catch (JsonProcessingException ex) {
             LOGGER.warn(ConstantValues.INVALID_CONVERT);
             return emptyList();
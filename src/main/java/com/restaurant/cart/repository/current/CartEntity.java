@@ -1,16 +1,19 @@
 package com.restaurant.cart.repository.current;
 
-import com.restaurant.cart.repository.converter.FoodNameConverter;
-import com.restaurant.cart.repository.converter.FoodPriceConverter;
 import com.restaurant.common.Status;
 import jakarta.persistence.*;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Table(indexes = {
+        @Index(columnList = "userId"),
+        @Index(columnList = "status, lastModified")
+})
 public class CartEntity {
 
     @Id
@@ -27,13 +30,22 @@ public class CartEntity {
     @Enumerated(EnumType.STRING)
     private Status status;
 
-    @Column
-    @Convert(converter = FoodNameConverter.class)
-    private List<String> food = new ArrayList<>();
+    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("lineId")
+    private List<CartLineEntity> lines = new ArrayList<>();
 
-    @Column
-    @Convert(converter = FoodPriceConverter.class)
-    private List<Double> foodPrice = new ArrayList<>();
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
+    @Column(columnDefinition = "TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
+    private ZonedDateTime lastModified;
+
+    @Column(name = "food")
+    private String legacyFood;
+
+    @Column(name = "food_price")
+    private String legacyFoodPrice;
 
     public Long getCartId() {
         return cartId;
@@ -75,19 +87,49 @@ public class CartEntity {
         this.status = status;
     }
 
-    public List<String> getFood() {
-        return food;
+    public List<CartLineEntity> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<CartLineEntity> lines) {
+        this.lines = lines;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ZonedDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(ZonedDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updateLastModified() {
+        lastModified = ZonedDateTime.now();
+    }
+
+    public String getLegacyFood() {
+        return legacyFood;
     }
 
-    public void setFood(List<String> food) {
-        this.food = food;
+    public void setLegacyFood(String legacyFood) {
+        this.legacyFood = legacyFood;
     }
 
-    public List<Double> getFoodPrice() {
-        return foodPrice;
+    public String getLegacyFoodPrice() {
+        return legacyFoodPrice;
     }
 
-    public void setFoodPrice(List<Double> foodPrice) {
-        this.foodPrice = foodPrice;
+    public void setLegacyFoodPrice(String legacyFoodPrice) {
+        this.legacyFoodPrice = legacyFoodPrice;
     }
 }
@@ -1,14 +1,51 @@
 package com.restaurant.cart.repository.current;
 
+import com.restaurant.cart.repository.current.dto.IdleCartModel;
+import com.restaurant.common.Status;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CartJpaRepository extends JpaRepository<CartEntity, Long> {
 
     boolean existsByUserId(Long userId);
 
+    boolean existsByUserIdAndLinesFoodName(Long userId, String foodName);
+
     void deleteByUserId(Long userId);
 
+    @EntityGraph(attributePaths = "lines")
     Optional<CartEntity> findCartEntityByUserId(Long userId);
+
+    @EntityGraph(attributePaths = "lines")
+    List<CartEntity> findAllByUserIdIn(Collection<Long> userIds);
+
+    List<CartEntity> findAllByLegacyFoodIsNotNullOrderByCartId(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.restaurant.cart.repository.current.dto.IdleCartModel(c.cartId, c.userId) " +
+            "from CartEntity c where c.status = :status and c.lastModified < :modifiedBefore order by c.cartId")
+    List<IdleCartModel> findIdleCarts(@Param("status") Status status,
+                                      @Param("modifiedBefore") ZonedDateTime modifiedBefore,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("delete from CartEntity c " +
+            "where c.cartId in :cartIds and c.status = :status and c.lastModified < :modifiedBefore")
+    int deleteIdleCarts(@Param("cartIds") Collection<Long> cartIds, @Param("status") Status status,
+                        @Param("modifiedBefore") ZonedDateTime modifiedBefore);
+
+    @Modifying
+    @Query("delete from CartEntity c where c.cartId in :cartIds")
+    int deleteByCartIds(@Param("cartIds") Collection<Long> cartIds);
 }
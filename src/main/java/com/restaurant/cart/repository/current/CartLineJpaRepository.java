@@ -0,0 +1,30 @@
+package com.restaurant.cart.repository.current;
+
+import com.restaurant.common.Status;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CartLineJpaRepository extends JpaRepository<CartLineEntity, Long> {
+
+    @EntityGraph(attributePaths = "cart")
+    Optional<CartLineEntity> findFirstByCartUserIdAndFoodNameOrderByLineId(Long userId, String foodName);
+
+    boolean existsByCartCartIdAndLineIdNot(Long cartId, Long lineId);
+
+    @Modifying
+    @Query("delete from CartLineEntity l where l.cart.cartId in :cartIds")
+    int deleteByCartIds(@Param("cartIds") Collection<Long> cartIds);
+
+    @Modifying
+    @Query("delete from CartLineEntity l where l.cart.cartId in (select c.cartId from CartEntity c " +
+            "where c.cartId in :cartIds and c.status = :status and c.lastModified < :modifiedBefore)")
+    int deleteIdleCartLines(@Param("cartIds") Collection<Long> cartIds, @Param("status") Status status,
+                            @Param("modifiedBefore") ZonedDateTime modifiedBefore);
+}
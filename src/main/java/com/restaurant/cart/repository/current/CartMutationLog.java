@@ -0,0 +1,142 @@
+package com.restaurant.cart.repository.current;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.cart.repository.current.dto.CartLogEntry;
+import com.restaurant.cart.repository.current.dto.CartModel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class CartMutationLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "cart-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path directory;
+
+    private long segmentNumber;
+
+    private Path segment;
+
+    private BufferedWriter writer;
+
+    CartMutationLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.segmentNumber = findSegments().stream()
+                .mapToLong(this::getSegmentNumber)
+                .max()
+                .orElse(0L);
+    }
+
+    List<Path> findSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(this::getSegmentNumber))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    Map<Long, CartModel> replay(List<Path> segments) {
+        Map<Long, CartModel> carts = new HashMap<>();
+
+        segments.forEach(file -> {
+            try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isBlank())
+                        .map(this::readEntry)
+                        .forEach(entry -> carts.put(entry.userId(), entry.cart()));
+            } catch (IOException | UncheckedIOException ex) {
+                // the last line of a segment can be cut by a crash, entries before it are still valid
+            }
+        });
+
+        return carts;
+    }
+
+    synchronized void append(CartLogEntry entry) {
+        try {
+            if (writer == null) {
+                openNextSegment();
+            }
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    synchronized Optional<Path> rotate() {
+        try {
+            var previous = Optional.ofNullable(segment);
+            closeWriter();
+            segment = null;
+            return previous;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void delete(List<Path> segments) {
+        segments.forEach(file -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeWriter();
+    }
+
+    private void openNextSegment() throws IOException {
+        segment = directory.resolve(SEGMENT_PREFIX + ++segmentNumber + SEGMENT_SUFFIX);
+        writer = Files.newBufferedWriter(segment, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private CartLogEntry readEntry(String line) {
+        try {
+            return objectMapper.readValue(line, CartLogEntry.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long getSegmentNumber(Path file) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
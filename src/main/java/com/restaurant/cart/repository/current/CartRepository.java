@@ -4,6 +4,9 @@ import com.restaurant.cart.repository.current.dto.CartModel;
 import com.restaurant.common.Status;
 import com.restaurant.food.service.dto.Food;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CartRepository {
@@ -14,6 +17,14 @@ public interface CartRepository {
 
     Optional<CartModel> addToCart(Long userId, Double foodValue, Food food, Boolean loyaltyCard);
 
+    Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Food food, Boolean loyaltyCard);
+
+    Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Map<Food, Integer> food, Boolean loyaltyCard);
+
+    CartModel insertWithFood(Long userId, Double foodValue, Food food, Boolean loyaltyCard);
+
+    CartModel insertWithFood(Long userId, Double foodValue, Map<Food, Integer> food, Boolean loyaltyCard);
+
     boolean existsByUserId(Long userId);
 
     void insert(Long userId);
@@ -22,11 +33,19 @@ public interface CartRepository {
 
     void confirmAnOrder(Long userId);
 
+    void confirmOrders(List<CartModel> cartModels);
+
     Status getStatus(Long userId);
 
     void deleteOrder(Long userId);
 
-    void deleteSpecificOrder(Long userId, Food food);
+    boolean decrementFoodQuantity(Long userId, Food food);
 
     boolean existsFoodInOrder(Long userId, String foodName);
+
+    List<CartModel> saveAll(List<CartModel> cartModels);
+
+    int migrateLegacyFood(int limit);
+
+    List<Long> deleteIdleCarts(ZonedDateTime modifiedBefore, int limit);
 }
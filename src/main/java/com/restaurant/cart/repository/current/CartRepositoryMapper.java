@@ -1,13 +1,47 @@
 package com.restaurant.cart.repository.current;
 
+import com.restaurant.cart.repository.current.dto.CartLineModel;
 import com.restaurant.cart.repository.current.dto.CartModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.util.Collections;
+import java.util.List;
+
 @Mapper
 public interface CartRepositoryMapper {
 
     CartRepositoryMapper INSTANCE = Mappers.getMapper(CartRepositoryMapper.class);
 
-    CartModel cartEntityToCartModel(CartEntity cartEntity);
+    default CartModel cartEntityToCartModel(CartEntity cartEntity) {
+        var lines = cartLineEntitiesToCartLineModels(cartEntity.getLines());
+
+        return new CartModel(
+                cartEntity.getCartId(),
+                cartEntity.getUserId(),
+                cartEntity.getLoyaltyCard(),
+                cartEntity.getCartValue(),
+                linesToFood(lines),
+                linesToFoodPrice(lines),
+                lines,
+                cartEntity.getStatus(),
+                cartEntity.getVersion()
+        );
+    }
+
+    List<CartLineModel> cartLineEntitiesToCartLineModels(List<CartLineEntity> cartLineEntities);
+
+    CartLineModel cartLineEntityToCartLineModel(CartLineEntity cartLineEntity);
+
+    default List<String> linesToFood(List<CartLineModel> lines) {
+        return lines.stream()
+                .flatMap(line -> Collections.nCopies(line.quantity(), line.foodName()).stream())
+                .toList();
+    }
+
+    default List<Double> linesToFoodPrice(List<CartLineModel> lines) {
+        return lines.stream()
+                .flatMap(line -> Collections.nCopies(line.quantity(), line.foodPrice()).stream())
+                .toList();
+    }
 }
@@ -1,23 +1,37 @@
 package com.restaurant.cart.repository.current;
 
+import com.restaurant.cart.repository.converter.FoodNameConverter;
+import com.restaurant.cart.repository.converter.FoodPriceConverter;
+import com.restaurant.cart.repository.current.dto.CartLineModel;
 import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.repository.current.dto.IdleCartModel;
 import com.restaurant.common.ConstantValues;
 import com.restaurant.common.Status;
 import com.restaurant.food.service.dto.Food;
-import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 
-import java.util.ArrayList;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class JpaWrappedCartRepository implements CartRepository {
 
     private static final CartRepositoryMapper cartRepositoryMapper = CartRepositoryMapper.INSTANCE;
 
+    private static final FoodNameConverter foodNameConverter = new FoodNameConverter();
+
+    private static final FoodPriceConverter foodPriceConverter = new FoodPriceConverter();
+
     private final CartJpaRepository cartJpaRepository;
 
-    public JpaWrappedCartRepository(CartJpaRepository cartJpaRepository) {
+    private final CartLineJpaRepository cartLineJpaRepository;
+
+    public JpaWrappedCartRepository(CartJpaRepository cartJpaRepository, CartLineJpaRepository cartLineJpaRepository) {
         this.cartJpaRepository = cartJpaRepository;
+        this.cartLineJpaRepository = cartLineJpaRepository;
     }
 
     @Override
@@ -34,11 +48,36 @@ public class JpaWrappedCartRepository implements CartRepository {
     @Override
     public Optional<CartModel> addToCart(Long userId, Double foodValue, Food food, Boolean loyaltyCard) {
         return cartJpaRepository.findCartEntityByUserId(userId)
+                .map(cart -> updateCart(foodValue, Map.of(food, 1), cart, loyaltyCard))
+                .map(cartJpaRepository::save)
+                .map(cartRepositoryMapper::cartEntityToCartModel);
+    }
+
+    @Override
+    public Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Food food, Boolean loyaltyCard) {
+        return addToCart(cartModel, foodValue, Map.of(food, 1), loyaltyCard);
+    }
+
+    @Override
+    public Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Map<Food, Integer> food,
+                                         Boolean loyaltyCard) {
+        return cartJpaRepository.findById(cartModel.cartId())
                 .map(cart -> updateCart(foodValue, food, cart, loyaltyCard))
                 .map(cartJpaRepository::save)
                 .map(cartRepositoryMapper::cartEntityToCartModel);
     }
 
+    @Override
+    public CartModel insertWithFood(Long userId, Double foodValue, Food food, Boolean loyaltyCard) {
+        return insertWithFood(userId, foodValue, Map.of(food, 1), loyaltyCard);
+    }
+
+    @Override
+    public CartModel insertWithFood(Long userId, Double foodValue, Map<Food, Integer> food, Boolean loyaltyCard) {
+        var cartEntity = updateCart(foodValue, food, getCartEntity(userId), loyaltyCard);
+        return cartRepositoryMapper.cartEntityToCartModel(cartJpaRepository.save(cartEntity));
+    }
+
     @Override
     public boolean existsByUserId(Long userId) {
         return cartJpaRepository.existsByUserId(userId);
@@ -56,6 +95,13 @@ public class JpaWrappedCartRepository implements CartRepository {
                 .ifPresent(cartJpaRepository::delete);
     }
 
+    @Override
+    public void confirmOrders(List<CartModel> cartModels) {
+        var cartIds = cartModels.stream().map(CartModel::cartId).toList();
+        cartLineJpaRepository.deleteByCartIds(cartIds);
+        cartJpaRepository.deleteByCartIds(cartIds);
+    }
+
     @Override
     public void changeStatusToInDelivery(Long userId) {
         cartJpaRepository.findCartEntityByUserId(userId)
@@ -79,74 +125,125 @@ public class JpaWrappedCartRepository implements CartRepository {
         cartJpaRepository.deleteByUserId(userId);
     }
 
-    @Transactional
     @Override
-    public void deleteSpecificOrder(Long userId, Food food) {
-        cartJpaRepository.findCartEntityByUserId(userId)
-                .map(cart -> {
-                    deleteSpecificFood(cart, food);
-                    if (cart.getFood().isEmpty()) {
-                        cartJpaRepository.delete(cart);
-                    } else {
-                        cartJpaRepository.save(cart);
-                    }
-                    return cart;
-                });
-    }
+    public boolean decrementFoodQuantity(Long userId, Food food) {
+        var line = cartLineJpaRepository.findFirstByCartUserIdAndFoodNameOrderByLineId(userId, food.foodName());
+        if (line.isEmpty()) {
+            return false;
+        }
 
-    @Override
-    public boolean existsFoodInOrder(Long userId, String foodName) {
-        if (findCartByUserId(userId).get()
-                .food().stream()
-                .filter(name -> name.equals(foodName)).findAny()
-                .isPresent()) {
+        var cartEntity = line.get().getCart();
+        var foodPrice = line.get().getFoodPrice();
+        var value = cartEntity.getLoyaltyCard() ? foodPrice - foodPrice * ConstantValues.DISCOUNT : foodPrice;
 
+        if (line.get().getQuantity() > 1) {
+            line.get().setQuantity(line.get().getQuantity() - 1);
+            cartLineJpaRepository.save(line.get());
+        } else if (cartLineJpaRepository.existsByCartCartIdAndLineIdNot(cartEntity.getCartId(), line.get().getLineId())) {
+            cartLineJpaRepository.delete(line.get());
+        } else {
+            cartJpaRepository.delete(cartEntity);
             return true;
         }
 
-        return false;
+        cartEntity.setCartValue(ConstantValues.my_format(cartEntity.getCartValue() - value));
+        cartJpaRepository.save(cartEntity);
+        return true;
     }
 
-    private CartEntity deleteSpecificFood(CartEntity cartEntity, Food food) {
-        var index = cartEntity.getFood().indexOf(food.foodName());
-        var foodPrice = cartEntity.getFoodPrice().get(index);
-        Double value;
+    @Override
+    public boolean existsFoodInOrder(Long userId, String foodName) {
+        return cartJpaRepository.existsByUserIdAndLinesFoodName(userId, foodName);
+    }
 
-        if (cartEntity.getLoyaltyCard()) {
-            value = foodPrice - foodPrice * ConstantValues.DISCOUNT;
-        } else {
-            value = foodPrice;
-        }
+    @Override
+    public List<CartModel> saveAll(List<CartModel> cartModels) {
+        var carts = cartJpaRepository.findAllByUserIdIn(cartModels.stream().map(CartModel::userId).toList()).stream()
+                .collect(Collectors.toMap(CartEntity::getUserId, cart -> cart, (first, second) -> first));
+
+        // a cart deleted or changed since its copy was loaded is newer in the database, so the copy is not saved
+        var savedCarts = cartJpaRepository.saveAllAndFlush(cartModels.stream()
+                .filter(cartModel -> carts.containsKey(cartModel.userId())
+                        && carts.get(cartModel.userId()).getVersion().equals(cartModel.version()))
+                .map(cartModel -> {
+                    var cartEntity = carts.get(cartModel.userId());
+                    cartEntity.setCartValue(cartModel.cartValue());
+                    cartEntity.setLoyaltyCard(cartModel.loyaltyCard());
+                    updateLines(cartEntity, cartModel.lines());
+                    return cartEntity;
+                })
+                .toList());
+
+        return savedCarts.stream()
+                .map(cartRepositoryMapper::cartEntityToCartModel)
+                .toList();
+    }
+
+    @Override
+    public int migrateLegacyFood(int limit) {
+        var carts = cartJpaRepository.findAllByLegacyFoodIsNotNullOrderByCartId(PageRequest.of(0, limit));
+        carts.forEach(cart -> {
+            var food = foodNameConverter.convertToEntityAttribute(cart.getLegacyFood());
+            var foodPrice = foodPriceConverter.convertToEntityAttribute(cart.getLegacyFoodPrice());
+
+            IntStream.range(0, Math.min(food.size(), foodPrice.size()))
+                    .forEach(i -> addLine(cart, null, food.get(i), foodPrice.get(i), 1));
+            cart.setLegacyFood(null);
+            cart.setLegacyFoodPrice(null);
+            cartJpaRepository.save(cart);
+        });
+
+        return carts.size();
+    }
 
-        var cartValue = cartEntity.getCartValue();
+    @Override
+    public List<Long> deleteIdleCarts(ZonedDateTime modifiedBefore, int limit) {
+        var carts = cartJpaRepository.findIdleCarts(Status.IN_ORDER, modifiedBefore, PageRequest.of(0, limit));
+        if (carts.isEmpty()) {
+            return List.of();
+        }
 
-        cartEntity.setCartValue(ConstantValues.my_format(cartValue - value));
-        cartEntity.getFood().remove(index);
-        cartEntity.getFoodPrice().remove(index);
+        var cartIds = carts.stream().map(IdleCartModel::cartId).toList();
+        cartLineJpaRepository.deleteIdleCartLines(cartIds, Status.IN_ORDER, modifiedBefore);
+        cartJpaRepository.deleteIdleCarts(cartIds, Status.IN_ORDER, modifiedBefore);
 
-        return cartEntity;
+        return carts.stream().map(IdleCartModel::userId).toList();
     }
 
-    private CartEntity updateCart(Double foodValue, Food food, CartEntity cartEntity, Boolean loyaltyCard) {
+    private CartEntity updateCart(Double foodValue, Map<Food, Integer> food, CartEntity cartEntity,
+                                  Boolean loyaltyCard) {
         var value = cartEntity.getCartValue();
         cartEntity.setCartValue(ConstantValues.my_format(value + foodValue));
         cartEntity.setLoyaltyCard(loyaltyCard);
+        food.forEach((item, quantity) -> addLine(cartEntity, item.foodId(), item.foodName(),
+                ConstantValues.my_format(item.foodPrice()), quantity));
 
-        List<String> foodList = cartEntity.getFood();
-        if(foodList.isEmpty()) {
-            foodList = new ArrayList<>();
-        }
-        foodList.add(food.foodName());
-        cartEntity.setFood(foodList);
+        return cartEntity;
+    }
 
-        List<Double> foodPriceList = cartEntity.getFoodPrice();
-        if(foodPriceList.isEmpty()) {
-            foodPriceList = new ArrayList<>();
-        }
-        foodPriceList.add(ConstantValues.my_format(food.foodPrice()));
-        cartEntity.setFoodPrice(foodPriceList);
+    private void addLine(CartEntity cartEntity, Long foodId, String foodName, Double foodPrice, Integer quantity) {
+        cartEntity.getLines().stream()
+                .filter(line -> isSameFood(line, foodName, foodPrice))
+                .findFirst()
+                .ifPresentOrElse(line -> line.setQuantity(line.getQuantity() + quantity),
+                        () -> cartEntity.getLines().add(
+                                new CartLineEntity(cartEntity, foodId, foodName, foodPrice, quantity)));
+    }
 
-        return cartEntity;
+    private void updateLines(CartEntity cartEntity, List<CartLineModel> lines) {
+        cartEntity.getLines().removeIf(line -> lines.stream()
+                .noneMatch(cartLine -> isSameFood(line, cartLine.foodName(), cartLine.foodPrice())));
+
+        lines.forEach(cartLine -> cartEntity.getLines().stream()
+                .filter(line -> isSameFood(line, cartLine.foodName(), cartLine.foodPrice()))
+                .findFirst()
+                .ifPresentOrElse(line -> line.setQuantity(cartLine.quantity()),
+                        () -> cartEntity.getLines().add(new CartLineEntity(cartEntity, cartLine.foodId(),
+                                cartLine.foodName(), cartLine.foodPrice(), cartLine.quantity()))));
+    }
+
+    private boolean isSameFood(CartLineEntity line, String foodName, Double foodPrice) {
+        return line.getFoodName().equals(foodName) && line.getFoodPrice().equals(foodPrice);
     }
 
     private CartEntity changeByMakeAnOrder(CartEntity cartEntity) {
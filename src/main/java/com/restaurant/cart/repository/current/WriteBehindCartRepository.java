@@ -0,0 +1,512 @@
+package com.restaurant.cart.repository.current;
+
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+import com.restaurant.cart.repository.current.dto.CartLogEntry;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.common.ConstantValues;
+import com.restaurant.common.Status;
+import com.restaurant.food.service.dto.Food;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+public class WriteBehindCartRepository implements CartRepository, AutoCloseable {
+
+    private static final CartRepositoryMapper cartRepositoryMapper = CartRepositoryMapper.INSTANCE;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindCartRepository.class);
+
+    private static final int SHARDS_COUNT = 16;
+
+    private static final int FLUSH_BATCH_SIZE = 100;
+
+    private static final int MAX_PENDING_SEGMENTS = 100;
+
+    private final CartRepository cartRepository;
+
+    private final TransactionOperations transactionOperations;
+
+    private final CartMutationLog mutationLog;
+
+    private final Shard[] shards = IntStream.range(0, SHARDS_COUNT)
+            .mapToObj(i -> new Shard())
+            .toArray(Shard[]::new);
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final List<Path> pendingSegments = new ArrayList<>();
+
+    private volatile boolean flushBacklogFull;
+
+    private final ScheduledExecutorService flushExecutor;
+
+    public WriteBehindCartRepository(CartRepository cartRepository, TransactionOperations transactionOperations,
+                                     Path logDirectory, long flushIntervalMillis) {
+        this.cartRepository = cartRepository;
+        this.transactionOperations = transactionOperations;
+        this.mutationLog = new CartMutationLog(logDirectory);
+
+        recover();
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "cart-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Double findValueOfCartByUserId(Long userId) {
+        return withShard(userId, shard -> loadCart(shard, userId).cartValue());
+    }
+
+    @Override
+    public Optional<CartModel> findCartByUserId(Long userId) {
+        return withShard(userId, shard -> Optional.ofNullable(loadCart(shard, userId)));
+    }
+
+    @Override
+    public Optional<CartModel> addToCart(Long userId, Double foodValue, Food food, Boolean loyaltyCard) {
+        return addToCachedCart(userId, foodValue, Map.of(food, 1), loyaltyCard);
+    }
+
+    @Override
+    public Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Food food, Boolean loyaltyCard) {
+        return addToCachedCart(cartModel.userId(), foodValue, Map.of(food, 1), loyaltyCard);
+    }
+
+    @Override
+    public Optional<CartModel> addToCart(CartModel cartModel, Double foodValue, Map<Food, Integer> food,
+                                         Boolean loyaltyCard) {
+        return addToCachedCart(cartModel.userId(), foodValue, food, loyaltyCard);
+    }
+
+    @Override
+    public CartModel insertWithFood(Long userId, Double foodValue, Food food, Boolean loyaltyCard) {
+        return insertWithFood(userId, foodValue, Map.of(food, 1), loyaltyCard);
+    }
+
+    @Override
+    public CartModel insertWithFood(Long userId, Double foodValue, Map<Food, Integer> food, Boolean loyaltyCard) {
+        return withShard(userId, shard -> {
+            var cart = cartRepository.insertWithFood(userId, foodValue, food, loyaltyCard);
+            afterCommit(userId, committedShard -> committedShard.carts.put(userId, cart));
+            return cart;
+        });
+    }
+
+    @Override
+    public boolean existsByUserId(Long userId) {
+        return withShard(userId, shard -> shard.carts.containsKey(userId) || cartRepository.existsByUserId(userId));
+    }
+
+    @Override
+    public void insert(Long userId) {
+        cartRepository.insert(userId);
+        afterCommit(userId, shard -> shard.carts.remove(userId));
+    }
+
+    @Override
+    public void changeStatusToInDelivery(Long userId) {
+        withFlushLock(() -> {
+            withShard(userId, shard -> {
+                if (shard.dirty.contains(userId)) {
+                    transactionOperations.executeWithoutResult(
+                            status -> cartRepository.saveAll(List.of(shard.carts.get(userId))));
+                }
+                return null;
+            });
+            cartRepository.changeStatusToInDelivery(userId);
+            afterCommit(userId, shard -> evict(shard, userId));
+        });
+    }
+
+    @Override
+    public void confirmAnOrder(Long userId) {
+        withFlushLock(() -> {
+            cartRepository.confirmAnOrder(userId);
+            afterCommit(userId, shard -> evict(shard, userId));
+        });
+    }
+
+    @Override
+    public void confirmOrders(List<CartModel> cartModels) {
+        withFlushLock(() -> {
+            cartRepository.confirmOrders(cartModels);
+            cartModels.forEach(cart -> afterCommit(cart.userId(), shard -> evict(shard, cart.userId())));
+        });
+    }
+
+    @Override
+    public Status getStatus(Long userId) {
+        return withShard(userId, shard -> shard.carts.containsKey(userId)
+                ? Status.IN_ORDER
+                : cartRepository.getStatus(userId));
+    }
+
+    @Override
+    public void deleteOrder(Long userId) {
+        withFlushLock(() -> {
+            cartRepository.deleteOrder(userId);
+            afterCommit(userId, shard -> evict(shard, userId));
+        });
+    }
+
+    @Override
+    public boolean decrementFoodQuantity(Long userId, Food food) {
+        checkFlushBacklog();
+        var lastFood = withShard(userId, shard -> {
+            var cart = loadCart(shard, userId);
+            if (cart == null || !cart.status().equals(Status.IN_ORDER)) {
+                return Optional.of(transactionOperations.execute(
+                        status -> cartRepository.decrementFoodQuantity(userId, food)));
+            }
+            if (cart.lines().stream().noneMatch(line -> line.foodName().equals(food.foodName()))) {
+                return Optional.of(false);
+            }
+            if (isLastFood(cart, food)) {
+                return Optional.<Boolean>empty();
+            }
+
+            putDirty(removeFood(cart, food));
+            return Optional.of(true);
+        });
+
+        return lastFood.orElseGet(() -> deleteLastFood(userId, food));
+    }
+
+    @Override
+    public boolean existsFoodInOrder(Long userId, String foodName) {
+        return withShard(userId, shard -> {
+            var cart = shard.carts.get(userId);
+            if (cart == null) {
+                return cartRepository.existsFoodInOrder(userId, foodName);
+            }
+
+            return cart.lines().stream().anyMatch(line -> line.foodName().equals(foodName));
+        });
+    }
+
+    @Override
+    public List<CartModel> saveAll(List<CartModel> cartModels) {
+        return cartRepository.saveAll(cartModels);
+    }
+
+    @Override
+    public int migrateLegacyFood(int limit) {
+        return cartRepository.migrateLegacyFood(limit);
+    }
+
+    @Override
+    public List<Long> deleteIdleCarts(ZonedDateTime modifiedBefore, int limit) {
+        flushLock.lock();
+        try {
+            var userIds = cartRepository.deleteIdleCarts(modifiedBefore, limit);
+            // purged before the delete commits, so neither a flush nor a log replay brings the carts back
+            userIds.forEach(userId -> withShard(userId, shard -> evict(shard, userId)));
+            return userIds;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() {
+        withFlushLock(() -> {
+            mutationLog.rotate().ifPresent(pendingSegments::add);
+
+            List<CartModel> dirtyCarts = new ArrayList<>();
+            for (var shard : shards) {
+                shard.lock.lock();
+                try {
+                    shard.dirty.forEach(userId -> dirtyCarts.add(shard.carts.get(userId)));
+                    shard.dirty.clear();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+
+            try {
+                var savedCarts = saveInBatches(dirtyCarts);
+                mutationLog.delete(pendingSegments);
+                pendingSegments.clear();
+                flushBacklogFull = false;
+                dirtyCarts.forEach(cart -> withShard(cart.userId(), shard -> applySaved(shard, cart, savedCarts)));
+            } catch (RuntimeException ex) {
+                LOGGER.warn(ConstantValues.CART_FLUSH_FAILED, ex);
+                flushBacklogFull = pendingSegments.size() >= MAX_PENDING_SEGMENTS;
+                dirtyCarts.forEach(cart -> withShard(cart.userId(), shard -> {
+                    if (shard.carts.containsKey(cart.userId())) {
+                        shard.dirty.add(cart.userId());
+                    }
+                    return null;
+                }));
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        mutationLog.close();
+    }
+
+    private void recover() {
+        var segments = mutationLog.findSegments();
+        var recoveredCarts = mutationLog.replay(segments).values().stream()
+                .filter(cart -> cart != null)
+                .toList();
+
+        saveInBatches(recoveredCarts);
+        mutationLog.delete(segments);
+    }
+
+    private Map<Long, CartModel> saveInBatches(List<CartModel> carts) {
+        Map<Long, CartModel> savedCarts = new HashMap<>();
+        for (int i = 0; i < carts.size(); i += FLUSH_BATCH_SIZE) {
+            var batch = carts.subList(i, Math.min(i + FLUSH_BATCH_SIZE, carts.size()));
+            transactionOperations.execute(status -> cartRepository.saveAll(batch))
+                    .forEach(cart -> savedCarts.put(cart.userId(), cart));
+        }
+
+        return savedCarts;
+    }
+
+    private Void applySaved(Shard shard, CartModel flushedCart, Map<Long, CartModel> savedCarts) {
+        var cart = shard.carts.get(flushedCart.userId());
+        // a cart evicted or reloaded during the flush is no longer based on the flushed copy
+        if (cart == null || !Objects.equals(cart.version(), flushedCart.version())) {
+            return null;
+        }
+
+        var savedCart = savedCarts.get(flushedCart.userId());
+        if (savedCart == null) {
+            LOGGER.warn(ConstantValues.CART_FLUSH_SKIPPED, flushedCart.userId());
+            return evict(shard, flushedCart.userId());
+        }
+
+        // edits made during the flush are saved with the next one, against the version written by this one
+        var versionedCart = withVersion(cart, savedCart.version());
+        shard.carts.put(flushedCart.userId(), versionedCart);
+        if (shard.dirty.contains(flushedCart.userId())) {
+            mutationLog.append(new CartLogEntry(flushedCart.userId(), versionedCart));
+        }
+        return null;
+    }
+
+    private boolean deleteLastFood(Long userId, Food food) {
+        flushLock.lock();
+        try {
+            var lastFood = withShard(userId, shard -> {
+                var cart = shard.carts.get(userId);
+                if (cart == null || !isLastFood(cart, food)) {
+                    return false;
+                }
+
+                return true;
+            });
+
+            if (lastFood) {
+                transactionOperations.executeWithoutResult(status -> {
+                    cartRepository.deleteOrder(userId);
+                    afterCommit(userId, shard -> evict(shard, userId));
+                });
+                return true;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+
+        return decrementFoodQuantity(userId, food);
+    }
+
+    private CartModel loadCart(Shard shard, Long userId) {
+        var cart = shard.carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+
+        cart = cartRepository.findCartByUserId(userId).orElse(null);
+        if (cart != null && cart.status().equals(Status.IN_ORDER)) {
+            shard.carts.put(userId, cart);
+        }
+
+        return cart;
+    }
+
+    private void putDirty(CartModel cart) {
+        afterCommit(cart.userId(), shard -> {
+            shard.carts.put(cart.userId(), cart);
+            shard.dirty.add(cart.userId());
+            mutationLog.append(new CartLogEntry(cart.userId(), cart));
+            return null;
+        });
+    }
+
+    private Void evict(Shard shard, Long userId) {
+        if (shard.carts.remove(userId) != null) {
+            mutationLog.append(new CartLogEntry(userId, null));
+        }
+        shard.dirty.remove(userId);
+        return null;
+    }
+
+    private Optional<CartModel> addToCachedCart(Long userId, Double foodValue, Map<Food, Integer> food,
+                                                Boolean loyaltyCard) {
+        checkFlushBacklog();
+        return withShard(userId, shard -> {
+            var cart = loadCart(shard, userId);
+            if (cart == null) {
+                return Optional.empty();
+            }
+            if (!cart.status().equals(Status.IN_ORDER)) {
+                return cartRepository.addToCart(cart, foodValue, food, loyaltyCard);
+            }
+
+            var updatedCart = addFood(cart, foodValue, food, loyaltyCard);
+            putDirty(updatedCart);
+            return Optional.of(updatedCart);
+        });
+    }
+
+    private CartModel addFood(CartModel cart, Double foodValue, Map<Food, Integer> food, Boolean loyaltyCard) {
+        List<CartLineModel> lines = new ArrayList<>(cart.lines());
+
+        food.forEach((item, quantity) -> {
+            var foodPrice = ConstantValues.my_format(item.foodPrice());
+            IntStream.range(0, lines.size())
+                    .filter(i -> lines.get(i).foodName().equals(item.foodName())
+                            && lines.get(i).foodPrice().equals(foodPrice))
+                    .findFirst()
+                    .ifPresentOrElse(i -> lines.set(i, withQuantity(lines.get(i), lines.get(i).quantity() + quantity)),
+                            () -> lines.add(new CartLineModel(item.foodId(), item.foodName(), foodPrice, quantity)));
+        });
+
+        return getCartModel(cart, loyaltyCard, ConstantValues.my_format(cart.cartValue() + foodValue), lines);
+    }
+
+    private CartModel removeFood(CartModel cart, Food food) {
+        List<CartLineModel> lines = new ArrayList<>(cart.lines());
+        var index = IntStream.range(0, lines.size())
+                .filter(i -> lines.get(i).foodName().equals(food.foodName()))
+                .findFirst()
+                .getAsInt();
+        var line = lines.get(index);
+        var value = cart.loyaltyCard()
+                ? line.foodPrice() - line.foodPrice() * ConstantValues.DISCOUNT
+                : line.foodPrice();
+
+        if (line.quantity() > 1) {
+            lines.set(index, withQuantity(line, line.quantity() - 1));
+        } else {
+            lines.remove(index);
+        }
+
+        return getCartModel(cart, cart.loyaltyCard(), ConstantValues.my_format(cart.cartValue() - value), lines);
+    }
+
+    private boolean isLastFood(CartModel cart, Food food) {
+        return cart.lines().size() == 1
+                && cart.lines().get(0).quantity() == 1
+                && cart.lines().get(0).foodName().equals(food.foodName());
+    }
+
+    private CartLineModel withQuantity(CartLineModel line, Integer quantity) {
+        return new CartLineModel(line.foodId(), line.foodName(), line.foodPrice(), quantity);
+    }
+
+    private CartModel getCartModel(CartModel cart, Boolean loyaltyCard, Double cartValue, List<CartLineModel> lines) {
+        return new CartModel(
+                cart.cartId(),
+                cart.userId(),
+                loyaltyCard,
+                cartValue,
+                cartRepositoryMapper.linesToFood(lines),
+                cartRepositoryMapper.linesToFoodPrice(lines),
+                List.copyOf(lines),
+                cart.status(),
+                cart.version()
+        );
+    }
+
+    private CartModel withVersion(CartModel cart, Long version) {
+        return new CartModel(cart.cartId(), cart.userId(), cart.loyaltyCard(), cart.cartValue(), cart.food(),
+                cart.foodPrice(), cart.lines(), cart.status(), version);
+    }
+
+    private void checkFlushBacklog() {
+        // while flushes keep failing, new edits are refused instead of growing memory and the log without bound
+        if (flushBacklogFull) {
+            throw new IllegalStateException(ConstantValues.CART_FLUSH_BACKLOG_FULL);
+        }
+    }
+
+    private void afterCommit(Long userId, Function<Shard, ?> action) {
+        // memory and the mutation log follow the database, a rolled back transaction must not change them
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    withShard(userId, action);
+                }
+            });
+        } else {
+            withShard(userId, action);
+        }
+    }
+
+    private <T> T withShard(Long userId, Function<Shard, T> action) {
+        var shard = shards[Math.floorMod(userId.hashCode(), SHARDS_COUNT)];
+        shard.lock.lock();
+        try {
+            return action.apply(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void withFlushLock(Runnable action) {
+        flushLock.lock();
+        try {
+            action.run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<Long, CartModel> carts = new HashMap<>();
+
+        private final Set<Long> dirty = new HashSet<>();
+    }
+}
@@ -0,0 +1,9 @@
+package com.restaurant.cart.repository.current.dto;
+
+public record CartLineModel(
+        Long foodId,
+        String foodName,
+        Double foodPrice,
+        Integer quantity
+) {
+}
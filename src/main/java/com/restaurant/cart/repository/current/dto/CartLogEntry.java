@@ -0,0 +1,7 @@
+package com.restaurant.cart.repository.current.dto;
+
+public record CartLogEntry(
+        Long userId,
+        CartModel cart
+) {
+}
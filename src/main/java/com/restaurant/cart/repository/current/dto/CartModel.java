@@ -1,5 +1,7 @@
 package com.restaurant.cart.repository.current.dto;
 
+import com.restaurant.common.Status;
+
 import java.util.List;
 
 public record CartModel(
@@ -8,6 +10,9 @@ public record CartModel(
         Boolean loyaltyCard,
         Double cartValue,
         List<String> food,
-        List<Double> foodPrice
+        List<Double> foodPrice,
+        List<CartLineModel> lines,
+        Status status,
+        Long version
 ) {
 }
@@ -1,7 +1,5 @@
 package com.restaurant.cart.repository.delivered;
 
-import com.restaurant.cart.repository.converter.FoodNameConverter;
-import com.restaurant.cart.repository.converter.FoodPriceConverter;
 import jakarta.persistence.*;
 
 import java.time.ZonedDateTime;
@@ -11,6 +9,10 @@ import java.util.List;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Table(indexes = {
+        @Index(columnList = "orderDate"),
+        @Index(columnList = "userId, orderDate desc, cartId desc")
+})
 public class CartDeliveredEntity {
 
     @Id
@@ -24,23 +26,22 @@ public class CartDeliveredEntity {
     @Column(columnDefinition = "DECIMAL(10,2)")
     private Double cartValue;
 
-    @Column
-    @Convert(converter = FoodNameConverter.class)
-    private List<String> food = new ArrayList<>();
+    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("lineId")
+    private List<CartDeliveredLineEntity> lines = new ArrayList<>();
 
-    @Column
-    @Convert(converter = FoodPriceConverter.class)
-    private List<Double> foodPrice = new ArrayList<>();
+    @Column(name = "food")
+    private String legacyFood;
+
+    @Column(name = "food_price")
+    private String legacyFoodPrice;
 
     private ZonedDateTime orderDate;
 
-    public CartDeliveredEntity(Long userId, Boolean loyaltyCard, Double cartValue, List<String> food,
-                               List<Double> foodPrice, ZonedDateTime orderDate) {
+    public CartDeliveredEntity(Long userId, Boolean loyaltyCard, Double cartValue, ZonedDateTime orderDate) {
         this.userId = userId;
         this.loyaltyCard = loyaltyCard;
         this.cartValue = cartValue;
-        this.food = food;
-        this.foodPrice = foodPrice;
         this.orderDate = orderDate;
     }
 
@@ -80,20 +81,28 @@ public class CartDeliveredEntity {
         this.cartValue = cartValue;
     }
 
-    public List<String> getFood() {
-        return food;
+    public List<CartDeliveredLineEntity> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<CartDeliveredLineEntity> lines) {
+        this.lines = lines;
+    }
+
+    public String getLegacyFood() {
+        return legacyFood;
     }
 
-    public void setFood(List<String> food) {
-        this.food = food;
+    public void setLegacyFood(String legacyFood) {
+        this.legacyFood = legacyFood;
     }
 
-    public List<Double> getFoodPrice() {
-        return foodPrice;
+    public String getLegacyFoodPrice() {
+        return legacyFoodPrice;
     }
 
-    public void setFoodPrice(List<Double> foodPrice) {
-        this.foodPrice = foodPrice;
+    public void setLegacyFoodPrice(String legacyFoodPrice) {
+        this.legacyFoodPrice = legacyFoodPrice;
     }
 
     public ZonedDateTime getOrderDate() {
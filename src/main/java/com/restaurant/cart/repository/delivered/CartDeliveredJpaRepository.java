@@ -1,12 +1,66 @@
 package com.restaurant.cart.repository.delivered;
 
+import com.restaurant.cart.repository.delivered.dto.OrderExportLineModel;
+import com.restaurant.cart.repository.delivered.dto.OrderSeriesRowModel;
+import com.restaurant.cart.repository.delivered.dto.SoldFoodModel;
+import com.restaurant.common.ConstantValues;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CartDeliveredJpaRepository extends JpaRepository<CartDeliveredEntity, Long> {
 
-    boolean existsByUserId(Long userId);
+    @Query("select c.cartId from CartDeliveredEntity c where c.userId = :userId " +
+            "order by c.orderDate desc, c.cartId desc")
+    List<Long> findLatestCartIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    List<CartDeliveredEntity> findCartDeliveredEntitiesByUserId(Long userId);
+    @Query("select c.cartId from CartDeliveredEntity c where c.userId = :userId and (c.orderDate < :orderDate " +
+            "or (c.orderDate = :orderDate and c.cartId < :cartId)) order by c.orderDate desc, c.cartId desc")
+    List<Long> findCartIdsByUserIdBefore(@Param("userId") Long userId,
+                                         @Param("orderDate") ZonedDateTime orderDate,
+                                         @Param("cartId") Long cartId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "lines")
+    List<CartDeliveredEntity> findByCartIdInOrderByOrderDateDescCartIdDesc(Collection<Long> cartIds);
+
+    @Query("select coalesce(sum(c.cartValue), 0.0) from CartDeliveredEntity c " +
+            "where c.orderDate >= :from and c.orderDate < :to")
+    Double sumCartValueBetween(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    @Query("select new com.restaurant.cart.repository.delivered.dto.SoldFoodModel(" +
+            "l.foodName, l.foodPrice, sum(l.quantity)) " +
+            "from CartDeliveredLineEntity l where l.cart.orderDate >= :from and l.cart.orderDate < :to " +
+            "group by l.foodName, l.foodPrice")
+    List<SoldFoodModel> sumSoldFoodBetween(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ConstantValues.STREAM_FETCH_SIZE))
+    Stream<CartDeliveredEntity> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ConstantValues.STREAM_FETCH_SIZE))
+    @Query("select new com.restaurant.cart.repository.delivered.dto.OrderExportLineModel(" +
+            "c.cartId, c.userId, c.orderDate, c.loyaltyCard, c.cartValue, l.foodName, l.foodPrice, l.quantity) " +
+            "from CartDeliveredLineEntity l join l.cart c where c.orderDate >= :from and c.orderDate < :to " +
+            "order by c.orderDate, c.cartId, l.lineId")
+    Stream<OrderExportLineModel> streamOrderLinesBetween(@Param("from") ZonedDateTime from,
+                                                         @Param("to") ZonedDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ConstantValues.STREAM_FETCH_SIZE))
+    @Query("select new com.restaurant.cart.repository.delivered.dto.OrderSeriesRowModel(" +
+            "c.orderDate, c.cartValue, coalesce(sum(l.quantity), 0)) " +
+            "from CartDeliveredEntity c left join c.lines l where c.orderDate >= :from and c.orderDate < :to " +
+            "group by c.cartId, c.orderDate, c.cartValue")
+    Stream<OrderSeriesRowModel> streamOrderTotalsBetween(@Param("from") ZonedDateTime from,
+                                                         @Param("to") ZonedDateTime to);
+
+    List<CartDeliveredEntity> findAllByLegacyFoodIsNotNullOrderByCartId(Pageable pageable);
 }
@@ -0,0 +1,87 @@
+package com.restaurant.cart.repository.delivered;
+
+import jakarta.persistence.*;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+@Entity
+@Table(indexes = {@Index(columnList = "cart_id"), @Index(columnList = "foodName")})
+public class CartDeliveredLineEntity {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long lineId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cart_id")
+    private CartDeliveredEntity cart;
+
+    private Long foodId;
+
+    private String foodName;
+
+    @Column(columnDefinition = "DECIMAL(10,2)")
+    private Double foodPrice;
+
+    private Integer quantity;
+
+    public CartDeliveredLineEntity(CartDeliveredEntity cart, Long foodId, String foodName, Double foodPrice, Integer quantity) {
+        this.cart = cart;
+        this.foodId = foodId;
+        this.foodName = foodName;
+        this.foodPrice = foodPrice;
+        this.quantity = quantity;
+    }
+
+    public CartDeliveredLineEntity() {
+
+    }
+
+    public Long getLineId() {
+        return lineId;
+    }
+
+    public void setLineId(Long lineId) {
+        this.lineId = lineId;
+    }
+
+    public CartDeliveredEntity getCart() {
+        return cart;
+    }
+
+    public void setCart(CartDeliveredEntity cart) {
+        this.cart = cart;
+    }
+
+    public Long getFoodId() {
+        return foodId;
+    }
+
+    public void setFoodId(Long foodId) {
+        this.foodId = foodId;
+    }
+
+    public String getFoodName() {
+        return foodName;
+    }
+
+    public void setFoodName(String foodName) {
+        this.foodName = foodName;
+    }
+
+    public Double getFoodPrice() {
+        return foodPrice;
+    }
+
+    public void setFoodPrice(Double foodPrice) {
+        this.foodPrice = foodPrice;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
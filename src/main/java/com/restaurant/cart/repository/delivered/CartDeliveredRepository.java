@@ -1,20 +1,36 @@
 package com.restaurant.cart.repository.delivered;
 
 import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredCursor;
 import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.delivered.dto.OrderExportLineModel;
+import com.restaurant.cart.repository.delivered.dto.OrderSeriesRowModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CartDeliveredRepository {
 
-    boolean existsByUserId(Long userId);
+    Optional<CartDeliveredModel> insert(Optional<CartModel> cartModel);
 
-    void insert(Optional<CartModel> cartModel);
+    List<CartDeliveredModel> insertAll(List<CartModel> cartModels);
 
-    List<CartDeliveredModel> findCartsDeliveredByUserId(Long userId);
+    List<CartDeliveredModel> findCartsDeliveredPage(Long userId, Optional<CartDeliveredCursor> cursor, int limit);
 
     List<CartDeliveredEntity> findAll();
 
-    List<CartDeliveredModel> findAllOrders();
+    Double sumOrdersValueBetween(ZonedDateTime from, ZonedDateTime to);
+
+    List<SoldFoodStatisticModel> findSoldFoodBetween(ZonedDateTime from, ZonedDateTime to);
+
+    Stream<CartDeliveredModel> streamAllOrders();
+
+    Stream<OrderExportLineModel> streamOrderLinesBetween(ZonedDateTime from, ZonedDateTime to);
+
+    Stream<OrderSeriesRowModel> streamOrderTotalsBetween(ZonedDateTime from, ZonedDateTime to);
+
+    int migrateLegacyFood(int limit);
 }
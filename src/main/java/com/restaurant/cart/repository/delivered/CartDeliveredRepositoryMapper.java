@@ -1,5 +1,7 @@
 package com.restaurant.cart.repository.delivered;
 
+import com.restaurant.cart.repository.current.CartRepositoryMapper;
+import com.restaurant.cart.repository.current.dto.CartLineModel;
 import com.restaurant.cart.repository.current.dto.CartModel;
 import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
 import org.mapstruct.Mapper;
@@ -14,14 +16,17 @@ public interface CartDeliveredRepositoryMapper {
     CartDeliveredRepositoryMapper INSTANCE = Mappers.getMapper(CartDeliveredRepositoryMapper.class);
 
     default CartDeliveredEntity cartModelToCartDeliveredEntity(CartModel cartModel) {
-        return new CartDeliveredEntity(
+        var cartDeliveredEntity = new CartDeliveredEntity(
                 cartModel.userId(),
                 cartModel.loyaltyCard(),
                 cartModel.cartValue(),
-                cartModel.food(),
-                cartModel.foodPrice(),
                 ZonedDateTime.now()
         );
+
+        cartModel.lines().forEach(line -> cartDeliveredEntity.getLines().add(new CartDeliveredLineEntity(
+                cartDeliveredEntity, line.foodId(), line.foodName(), line.foodPrice(), line.quantity())));
+
+        return cartDeliveredEntity;
     }
 
     default List<CartDeliveredModel> cartDeliveredEntitiesToCartDeliveredModels(List<CartDeliveredEntity> cartDeliveredEntities) {
@@ -30,5 +35,22 @@ public interface CartDeliveredRepositoryMapper {
                 .toList();
     }
 
-    CartDeliveredModel cartDeliveredEntityToCartDeliveredModel(CartDeliveredEntity cartDeliveredEntity);
+    default CartDeliveredModel cartDeliveredEntityToCartDeliveredModel(CartDeliveredEntity cartDeliveredEntity) {
+        var lines = cartDeliveredLineEntitiesToCartLineModels(cartDeliveredEntity.getLines());
+
+        return new CartDeliveredModel(
+                cartDeliveredEntity.getCartId(),
+                cartDeliveredEntity.getUserId(),
+                cartDeliveredEntity.getLoyaltyCard(),
+                cartDeliveredEntity.getCartValue(),
+                CartRepositoryMapper.INSTANCE.linesToFood(lines),
+                CartRepositoryMapper.INSTANCE.linesToFoodPrice(lines),
+                cartDeliveredEntity.getOrderDate(),
+                lines
+        );
+    }
+
+    List<CartLineModel> cartDeliveredLineEntitiesToCartLineModels(List<CartDeliveredLineEntity> cartDeliveredLineEntities);
+
+    CartLineModel cartDeliveredLineEntityToCartLineModel(CartDeliveredLineEntity cartDeliveredLineEntity);
 }
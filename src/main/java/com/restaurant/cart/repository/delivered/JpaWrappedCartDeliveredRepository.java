@@ -1,27 +1,70 @@
 package com.restaurant.cart.repository.delivered;
 
+import com.restaurant.cart.repository.converter.FoodNameConverter;
+import com.restaurant.cart.repository.converter.FoodPriceConverter;
 import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredCursor;
 import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.delivered.dto.OrderExportLineModel;
+import com.restaurant.cart.repository.delivered.dto.OrderSeriesRowModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.common.ConstantValues;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
 
 public class JpaWrappedCartDeliveredRepository implements CartDeliveredRepository {
 
     private static final CartDeliveredRepositoryMapper cartDeliveredRepositoryMapper = CartDeliveredRepositoryMapper.INSTANCE;
 
+    private static final FoodNameConverter foodNameConverter = new FoodNameConverter();
+
+    private static final FoodPriceConverter foodPriceConverter = new FoodPriceConverter();
+
+    private static final String INSERT_ORDER =
+            "insert into cart_delivered_entity (user_id, loyalty_card, cart_value, order_date) values (?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_LINE = "insert into cart_delivered_line_entity "
+            + "(cart_id, food_id, food_name, food_price, quantity) values (?, ?, ?, ?, ?)";
+
     private final CartDeliveredJpaRepository cartDeliveredJpaRepository;
 
-    public JpaWrappedCartDeliveredRepository(CartDeliveredJpaRepository cartDeliveredJpaRepository) {
+    private final EntityManager entityManager;
+
+    public JpaWrappedCartDeliveredRepository(CartDeliveredJpaRepository cartDeliveredJpaRepository,
+                                             EntityManager entityManager) {
         this.cartDeliveredJpaRepository = cartDeliveredJpaRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
-    public void insert(Optional<CartModel> cartModel) {
-        cartModel.ifPresent(model -> cartDeliveredJpaRepository.save(setOrderDate(
-                cartDeliveredRepositoryMapper.cartModelToCartDeliveredEntity(model))
-        ));
+    public Optional<CartDeliveredModel> insert(Optional<CartModel> cartModel) {
+        return cartModel.map(model -> cartDeliveredJpaRepository.save(setOrderDate(
+                        cartDeliveredRepositoryMapper.cartModelToCartDeliveredEntity(model))))
+                .map(cartDeliveredRepositoryMapper::cartDeliveredEntityToCartDeliveredModel);
+    }
+
+    @Override
+    public List<CartDeliveredModel> insertAll(List<CartModel> cartModels) {
+        if (cartModels.isEmpty()) {
+            return emptyList();
+        }
+
+        var orderDate = ZonedDateTime.now();
+        return entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> insertBatch(connection, cartModels, orderDate));
     }
 
     public CartDeliveredEntity setOrderDate(CartDeliveredEntity cartDeliveredEntity) {
@@ -35,19 +78,123 @@ public class JpaWrappedCartDeliveredRepository implements CartDeliveredRepositor
     }
 
     @Override
-    public List<CartDeliveredModel> findAllOrders() {
+    public List<CartDeliveredModel> findCartsDeliveredPage(Long userId, Optional<CartDeliveredCursor> cursor, int limit) {
+        var pageable = PageRequest.ofSize(limit);
+        var cartIds = cursor
+                .map(before -> cartDeliveredJpaRepository.findCartIdsByUserIdBefore(
+                        userId, before.orderDate(), before.cartId(), pageable))
+                .orElseGet(() -> cartDeliveredJpaRepository.findLatestCartIdsByUserId(userId, pageable));
+
+        if (cartIds.isEmpty()) {
+            return emptyList();
+        }
+
         return cartDeliveredRepositoryMapper.cartDeliveredEntitiesToCartDeliveredModels(
-                cartDeliveredJpaRepository.findAll());
+                cartDeliveredJpaRepository.findByCartIdInOrderByOrderDateDescCartIdDesc(cartIds));
     }
 
     @Override
-    public boolean existsByUserId(Long userId) {
-        return cartDeliveredJpaRepository.existsByUserId(userId);
+    public Double sumOrdersValueBetween(ZonedDateTime from, ZonedDateTime to) {
+        return cartDeliveredJpaRepository.sumCartValueBetween(from, to);
     }
 
     @Override
-    public List<CartDeliveredModel> findCartsDeliveredByUserId(Long userId) {
-        return cartDeliveredRepositoryMapper.cartDeliveredEntitiesToCartDeliveredModels(
-                cartDeliveredJpaRepository.findCartDeliveredEntitiesByUserId(userId));
+    public List<SoldFoodStatisticModel> findSoldFoodBetween(ZonedDateTime from, ZonedDateTime to) {
+        return cartDeliveredJpaRepository.sumSoldFoodBetween(from, to).stream()
+                .map(food -> {
+                    var foodPriceCents = ConstantValues.toCents(food.foodPrice());
+                    return new SoldFoodStatisticModel(
+                            food.foodName(), foodPriceCents, food.quantitySold(), foodPriceCents * food.quantitySold());
+                })
+                .toList();
+    }
+
+    @Override
+    public Stream<CartDeliveredModel> streamAllOrders() {
+        return cartDeliveredJpaRepository.streamAllBy()
+                .map(this::detachToModel);
+    }
+
+    @Override
+    public Stream<OrderExportLineModel> streamOrderLinesBetween(ZonedDateTime from, ZonedDateTime to) {
+        return cartDeliveredJpaRepository.streamOrderLinesBetween(from, to);
+    }
+
+    @Override
+    public Stream<OrderSeriesRowModel> streamOrderTotalsBetween(ZonedDateTime from, ZonedDateTime to) {
+        return cartDeliveredJpaRepository.streamOrderTotalsBetween(from, to);
+    }
+
+    @Override
+    public int migrateLegacyFood(int limit) {
+        var carts = cartDeliveredJpaRepository.findAllByLegacyFoodIsNotNullOrderByCartId(PageRequest.of(0, limit));
+        carts.forEach(cart -> {
+            var food = foodNameConverter.convertToEntityAttribute(cart.getLegacyFood());
+            var foodPrice = foodPriceConverter.convertToEntityAttribute(cart.getLegacyFoodPrice());
+
+            IntStream.range(0, Math.min(food.size(), foodPrice.size()))
+                    .forEach(i -> addLine(cart, food.get(i), foodPrice.get(i)));
+            cart.setLegacyFood(null);
+            cart.setLegacyFoodPrice(null);
+            cartDeliveredJpaRepository.save(cart);
+        });
+
+        return carts.size();
+    }
+
+    private List<CartDeliveredModel> insertBatch(Connection connection, List<CartModel> cartModels,
+                                                 ZonedDateTime orderDate) throws SQLException {
+        List<CartDeliveredModel> orders = new ArrayList<>(cartModels.size());
+
+        try (var statement = connection.prepareStatement(INSERT_ORDER, new String[]{"cart_id"})) {
+            for (var cartModel : cartModels) {
+                statement.setObject(1, cartModel.userId(), Types.BIGINT);
+                statement.setObject(2, cartModel.loyaltyCard(), Types.BOOLEAN);
+                statement.setObject(3, cartModel.cartValue(), Types.DECIMAL);
+                statement.setObject(4, orderDate.toOffsetDateTime(), Types.TIMESTAMP_WITH_TIMEZONE);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            try (var generatedKeys = statement.getGeneratedKeys()) {
+                for (var cartModel : cartModels) {
+                    generatedKeys.next();
+                    orders.add(new CartDeliveredModel(generatedKeys.getLong(1), cartModel.userId(),
+                            cartModel.loyaltyCard(), cartModel.cartValue(), cartModel.food(), cartModel.foodPrice(),
+                            orderDate, cartModel.lines()));
+                }
+            }
+        }
+
+        try (var statement = connection.prepareStatement(INSERT_ORDER_LINE)) {
+            for (var order : orders) {
+                for (var line : order.lines()) {
+                    statement.setLong(1, order.cartId());
+                    statement.setObject(2, line.foodId(), Types.BIGINT);
+                    statement.setString(3, line.foodName());
+                    statement.setObject(4, line.foodPrice(), Types.DECIMAL);
+                    statement.setObject(5, line.quantity(), Types.INTEGER);
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+
+        return orders;
+    }
+
+    private void addLine(CartDeliveredEntity cartDeliveredEntity, String foodName, Double foodPrice) {
+        cartDeliveredEntity.getLines().stream()
+                .filter(line -> line.getFoodName().equals(foodName) && line.getFoodPrice().equals(foodPrice))
+                .findFirst()
+                .ifPresentOrElse(line -> line.setQuantity(line.getQuantity() + 1),
+                        () -> cartDeliveredEntity.getLines().add(
+                                new CartDeliveredLineEntity(cartDeliveredEntity, null, foodName, foodPrice, 1)));
+    }
+
+    private CartDeliveredModel detachToModel(CartDeliveredEntity cartDeliveredEntity) {
+        var cartDeliveredModel = cartDeliveredRepositoryMapper.cartDeliveredEntityToCartDeliveredModel(cartDeliveredEntity);
+        entityManager.detach(cartDeliveredEntity);
+        return cartDeliveredModel;
     }
 }
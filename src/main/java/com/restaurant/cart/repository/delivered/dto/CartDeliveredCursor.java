@@ -0,0 +1,9 @@
+package com.restaurant.cart.repository.delivered.dto;
+
+import java.time.ZonedDateTime;
+
+public record CartDeliveredCursor(
+        ZonedDateTime orderDate,
+        Long cartId
+) {
+}
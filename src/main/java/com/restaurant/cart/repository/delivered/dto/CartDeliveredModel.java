@@ -1,5 +1,7 @@
 package com.restaurant.cart.repository.delivered.dto;
 
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+
 import java.time.ZonedDateTime;
 import java.util.List;
 
@@ -10,6 +12,7 @@ public record CartDeliveredModel(
         Double cartValue,
         List<String> food,
         List<Double> foodPrice,
-        ZonedDateTime orderDate
+        ZonedDateTime orderDate,
+        List<CartLineModel> lines
 ) {
 }
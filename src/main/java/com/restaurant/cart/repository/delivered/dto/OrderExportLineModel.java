@@ -0,0 +1,15 @@
+package com.restaurant.cart.repository.delivered.dto;
+
+import java.time.ZonedDateTime;
+
+public record OrderExportLineModel(
+        Long cartId,
+        Long userId,
+        ZonedDateTime orderDate,
+        Boolean loyaltyCard,
+        Double cartValue,
+        String foodName,
+        Double foodPrice,
+        Integer quantity
+) {
+}
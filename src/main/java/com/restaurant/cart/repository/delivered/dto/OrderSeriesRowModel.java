@@ -0,0 +1,10 @@
+package com.restaurant.cart.repository.delivered.dto;
+
+import java.time.ZonedDateTime;
+
+public record OrderSeriesRowModel(
+        ZonedDateTime orderDate,
+        Double cartValue,
+        Long itemsSold
+) {
+}
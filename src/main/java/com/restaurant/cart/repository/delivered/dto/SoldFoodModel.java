@@ -0,0 +1,8 @@
+package com.restaurant.cart.repository.delivered.dto;
+
+public record SoldFoodModel(
+        String foodName,
+        Double foodPrice,
+        Long quantitySold
+) {
+}
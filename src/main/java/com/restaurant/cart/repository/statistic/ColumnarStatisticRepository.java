@@ -0,0 +1,258 @@
+package com.restaurant.cart.repository.statistic;
+
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.cart.repository.statistic.dto.UserSpendModel;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.common.ConstantValues;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+public class ColumnarStatisticRepository implements StatisticRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int SCAN_CHUNK_SIZE = 1 << 16;
+
+    private final StatisticRepository statisticRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // food is keyed by name, statistics group on the name and price snapshot and migrated lines have no food id
+    private final Map<String, Integer> foodNameIds = new HashMap<>();
+
+    private final List<String> foodNames = new ArrayList<>();
+
+    // days rather than seconds, every query filters on whole days after a date like the persisted rollups,
+    // and no query groups by user, so orders keep no user id column
+    private long[] orderEpochDays = new long[INITIAL_CAPACITY];
+
+    private long[] orderValueCents = new long[INITIAL_CAPACITY];
+
+    private int ordersSize;
+
+    private long[] lineEpochDays = new long[INITIAL_CAPACITY];
+
+    private int[] lineFoodIds = new int[INITIAL_CAPACITY];
+
+    private int[] linePriceCents = new int[INITIAL_CAPACITY];
+
+    private int[] lineQuantities = new int[INITIAL_CAPACITY];
+
+    private int linesSize;
+
+    public ColumnarStatisticRepository(StatisticRepository statisticRepository) {
+        this.statisticRepository = statisticRepository;
+    }
+
+    @Override
+    public void addOrder(CartDeliveredModel cartDeliveredModel) {
+        statisticRepository.addOrder(cartDeliveredModel);
+
+        // a rolled back delivery must not stay in the snapshot, a failed batch is saved again order by order
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToSnapshot(cartDeliveredModel);
+                }
+            });
+        } else {
+            addToSnapshot(cartDeliveredModel);
+        }
+    }
+
+    @Override
+    public Double sumOrdersValueAfter(LocalDate afterDate) {
+        var fromEpochDay = getFromEpochDay(afterDate);
+
+        lock.readLock().lock();
+        try {
+            var epochDays = orderEpochDays;
+            var valueCents = orderValueCents;
+
+            return ConstantValues.fromCents(IntStream.range(0, ordersSize)
+                    .parallel()
+                    .filter(i -> epochDays[i] >= fromEpochDay)
+                    .mapToLong(i -> valueCents[i])
+                    .sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate) {
+        var fromEpochDay = getFromEpochDay(afterDate);
+
+        lock.readLock().lock();
+        try {
+            return ForkJoinPool.commonPool()
+                    .invoke(new SoldFoodScan(fromEpochDay, 0, linesSize))
+                    .entrySet().stream()
+                    .map(food -> {
+                        var foodPriceCents = food.getKey() & 0xFFFFFFFFL;
+                        return new SoldFoodStatisticModel(
+                                foodNames.get((int) (food.getKey() >>> 32)),
+                                foodPriceCents,
+                                food.getValue()[0],
+                                food.getValue()[1]
+                        );
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate, Collection<String> foodNames) {
+        return findSoldFoodAfter(afterDate).stream()
+                .filter(food -> foodNames.contains(food.foodName()))
+                .toList();
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findTopSoldFoodAfter(LocalDate afterDate, SoldFoodRanking ranking, int limit) {
+        Comparator<SoldFoodStatisticModel> comparator = ranking == SoldFoodRanking.REVENUE
+                ? Comparator.comparing(SoldFoodStatisticModel::totalValueCents, Comparator.reverseOrder())
+                : Comparator.comparing(SoldFoodStatisticModel::quantitySold, Comparator.reverseOrder());
+
+        return findSoldFoodAfter(afterDate).stream()
+                .sorted(comparator
+                        .thenComparing(SoldFoodStatisticModel::foodName)
+                        .thenComparing(SoldFoodStatisticModel::foodPriceCents, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return statisticRepository.isEmpty();
+    }
+
+    @Override
+    public void addUserSpend(CartDeliveredModel cartDeliveredModel) {
+        statisticRepository.addUserSpend(cartDeliveredModel);
+    }
+
+    @Override
+    public Optional<UserSpendModel> findUserSpend(Long userId) {
+        return statisticRepository.findUserSpend(userId);
+    }
+
+    @Override
+    public boolean isUserSpendEmpty() {
+        return statisticRepository.isUserSpendEmpty();
+    }
+
+    @Override
+    public boolean isSnapshotEmpty() {
+        lock.readLock().lock();
+        try {
+            return ordersSize == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void addToSnapshot(CartDeliveredModel cartDeliveredModel) {
+        // orders are bucketed by the local date of their orderDate, the same sale date as the daily rollup
+        var epochDay = cartDeliveredModel.orderDate().toLocalDate().toEpochDay();
+
+        lock.writeLock().lock();
+        try {
+            if (ordersSize == orderEpochDays.length) {
+                orderEpochDays = Arrays.copyOf(orderEpochDays, ordersSize * 2);
+                orderValueCents = Arrays.copyOf(orderValueCents, ordersSize * 2);
+            }
+            orderEpochDays[ordersSize] = epochDay;
+            orderValueCents[ordersSize] = ConstantValues.toCents(cartDeliveredModel.cartValue());
+            ordersSize++;
+
+            cartDeliveredModel.lines().forEach(line -> {
+                if (linesSize == lineEpochDays.length) {
+                    lineEpochDays = Arrays.copyOf(lineEpochDays, linesSize * 2);
+                    lineFoodIds = Arrays.copyOf(lineFoodIds, linesSize * 2);
+                    linePriceCents = Arrays.copyOf(linePriceCents, linesSize * 2);
+                    lineQuantities = Arrays.copyOf(lineQuantities, linesSize * 2);
+                }
+                lineEpochDays[linesSize] = epochDay;
+                lineFoodIds[linesSize] = getFoodId(line.foodName());
+                linePriceCents[linesSize] = Math.toIntExact(ConstantValues.toCents(line.foodPrice()));
+                lineQuantities[linesSize] = line.quantity();
+                linesSize++;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int getFoodId(String foodName) {
+        return foodNameIds.computeIfAbsent(foodName, name -> {
+            foodNames.add(name);
+            return foodNames.size() - 1;
+        });
+    }
+
+    private long getFromEpochDay(LocalDate afterDate) {
+        return afterDate.plusDays(1).toEpochDay();
+    }
+
+    private class SoldFoodScan extends RecursiveTask<Map<Long, long[]>> {
+
+        private final long fromEpochDay;
+
+        private final int start;
+
+        private final int end;
+
+        SoldFoodScan(long fromEpochDay, int start, int end) {
+            this.fromEpochDay = fromEpochDay;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (end - start > SCAN_CHUNK_SIZE) {
+                var middle = (start + end) >>> 1;
+                var left = new SoldFoodScan(fromEpochDay, start, middle);
+                left.fork();
+                var result = new SoldFoodScan(fromEpochDay, middle, end).compute();
+                left.join().forEach((key, value) -> result.merge(key, value, (first, second) -> {
+                    first[0] += second[0];
+                    first[1] += second[1];
+                    return first;
+                }));
+                return result;
+            }
+
+            Map<Long, long[]> soldFood = new HashMap<>();
+            for (int i = start; i < end; i++) {
+                if (lineEpochDays[i] >= fromEpochDay) {
+                    var key = ((long) lineFoodIds[i] << 32) | (linePriceCents[i] & 0xFFFFFFFFL);
+                    var totals = soldFood.computeIfAbsent(key, food -> new long[2]);
+                    totals[0] += lineQuantities[i];
+                    totals[1] += (long) linePriceCents[i] * lineQuantities[i];
+                }
+            }
+            return soldFood;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.restaurant.cart.repository.statistic;
+
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.cart.repository.statistic.dto.UserSpendModel;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.common.ConstantValues;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class JpaWrappedStatisticRepository implements StatisticRepository {
+
+    private final SoldFoodDailyJpaRepository soldFoodDailyJpaRepository;
+
+    private final OrderDailyJpaRepository orderDailyJpaRepository;
+
+    private final UserSpendJpaRepository userSpendJpaRepository;
+
+    // H2 has no insert ... on conflict, it runs the equivalent merge instead
+    private final boolean onConflictSupported;
+
+    public JpaWrappedStatisticRepository(SoldFoodDailyJpaRepository soldFoodDailyJpaRepository,
+                                         OrderDailyJpaRepository orderDailyJpaRepository,
+                                         UserSpendJpaRepository userSpendJpaRepository, boolean onConflictSupported) {
+        this.soldFoodDailyJpaRepository = soldFoodDailyJpaRepository;
+        this.orderDailyJpaRepository = orderDailyJpaRepository;
+        this.userSpendJpaRepository = userSpendJpaRepository;
+        this.onConflictSupported = onConflictSupported;
+    }
+
+    @Override
+    public void addOrder(CartDeliveredModel cartDeliveredModel) {
+        var saleDate = cartDeliveredModel.orderDate().toLocalDate();
+
+        // every row is added with a single upsert, so the first order of a day or dish needs no extra insert
+        countSoldFood(cartDeliveredModel).forEach((food, quantity) -> {
+            var foodPriceCents = food.getValue();
+            if (onConflictSupported) {
+                soldFoodDailyJpaRepository.upsert(
+                        saleDate, food.getKey(), foodPriceCents, quantity, foodPriceCents * quantity);
+            } else {
+                soldFoodDailyJpaRepository.merge(
+                        saleDate, food.getKey(), foodPriceCents, quantity, foodPriceCents * quantity);
+            }
+        });
+
+        var valueCents = ConstantValues.toCents(cartDeliveredModel.cartValue());
+        if (onConflictSupported) {
+            orderDailyJpaRepository.upsert(saleDate, valueCents);
+        } else {
+            orderDailyJpaRepository.merge(saleDate, valueCents);
+        }
+    }
+
+    @Override
+    public Double sumOrdersValueAfter(LocalDate afterDate) {
+        return ConstantValues.fromCents(orderDailyJpaRepository.sumOrdersValueAfter(afterDate));
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate) {
+        return soldFoodDailyJpaRepository.sumSoldFoodAfter(afterDate);
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate, Collection<String> foodNames) {
+        return soldFoodDailyJpaRepository.sumSoldFoodAfter(afterDate, foodNames);
+    }
+
+    @Override
+    public List<SoldFoodStatisticModel> findTopSoldFoodAfter(LocalDate afterDate, SoldFoodRanking ranking, int limit) {
+        return ranking == SoldFoodRanking.REVENUE
+                ? soldFoodDailyJpaRepository.findTopSoldFoodByRevenueAfter(afterDate, PageRequest.of(0, limit))
+                : soldFoodDailyJpaRepository.findTopSoldFoodByQuantityAfter(afterDate, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return orderDailyJpaRepository.count() == 0;
+    }
+
+    @Override
+    public void addUserSpend(CartDeliveredModel cartDeliveredModel) {
+        var userId = cartDeliveredModel.userId();
+        var valueCents = ConstantValues.toCents(cartDeliveredModel.cartValue());
+
+        if (onConflictSupported) {
+            userSpendJpaRepository.upsert(userId, valueCents);
+        } else {
+            userSpendJpaRepository.merge(userId, valueCents);
+        }
+    }
+
+    @Override
+    public Optional<UserSpendModel> findUserSpend(Long userId) {
+        return userSpendJpaRepository.findById(userId)
+                .map(userSpend -> new UserSpendModel(
+                        userSpend.getUserId(), userSpend.getOrdersCount(), userSpend.getOrdersValueCents()));
+    }
+
+    @Override
+    public boolean isUserSpendEmpty() {
+        return userSpendJpaRepository.count() == 0;
+    }
+
+    @Override
+    public boolean isSnapshotEmpty() {
+        return false;
+    }
+
+    @Override
+    public void addToSnapshot(CartDeliveredModel cartDeliveredModel) {
+    }
+
+    private Map<AbstractMap.SimpleEntry<String, Long>, Long> countSoldFood(CartDeliveredModel cartDeliveredModel) {
+        return cartDeliveredModel.lines().stream()
+                .collect(Collectors.groupingBy(
+                        line -> new AbstractMap.SimpleEntry<>(line.foodName(), ConstantValues.toCents(line.foodPrice())),
+                        Collectors.summingLong(CartLineModel::quantity)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.restaurant.cart.repository.statistic;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.LocalDate;
+
+@Entity
+public class OrderDailyEntity {
+
+    @Id
+    private LocalDate saleDate;
+
+    private Long ordersCount;
+
+    private Long ordersValueCents;
+
+    public OrderDailyEntity(LocalDate saleDate, Long ordersCount, Long ordersValueCents) {
+        this.saleDate = saleDate;
+        this.ordersCount = ordersCount;
+        this.ordersValueCents = ordersValueCents;
+    }
+
+    public OrderDailyEntity() {
+
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    public Long getOrdersCount() {
+        return ordersCount;
+    }
+
+    public void setOrdersCount(Long ordersCount) {
+        this.ordersCount = ordersCount;
+    }
+
+    public Long getOrdersValueCents() {
+        return ordersValueCents;
+    }
+
+    public void setOrdersValueCents(Long ordersValueCents) {
+        this.ordersValueCents = ordersValueCents;
+    }
+}
@@ -0,0 +1,34 @@
+package com.restaurant.cart.repository.statistic;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface OrderDailyJpaRepository extends JpaRepository<OrderDailyEntity, LocalDate> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "insert into order_daily_entity (sale_date, orders_count, orders_value_cents) " +
+            "values (:saleDate, 1, :valueCents) on conflict (sale_date) do update set " +
+            "orders_count = order_daily_entity.orders_count + 1, " +
+            "orders_value_cents = order_daily_entity.orders_value_cents + excluded.orders_value_cents",
+            nativeQuery = true)
+    void upsert(@Param("saleDate") LocalDate saleDate, @Param("valueCents") Long valueCents);
+
+    @Modifying
+    @Transactional
+    @Query(value = "merge into order_daily_entity o using (values (:saleDate, :valueCents)) " +
+            "as v(sale_date, orders_value_cents) on o.sale_date = v.sale_date " +
+            "when matched then update set orders_count = o.orders_count + 1, " +
+            "orders_value_cents = o.orders_value_cents + v.orders_value_cents " +
+            "when not matched then insert (sale_date, orders_count, orders_value_cents) " +
+            "values (v.sale_date, 1, v.orders_value_cents)", nativeQuery = true)
+    void merge(@Param("saleDate") LocalDate saleDate, @Param("valueCents") Long valueCents);
+
+    @Query("select coalesce(sum(o.ordersValueCents), 0) from OrderDailyEntity o where o.saleDate > :afterDate")
+    Long sumOrdersValueAfter(@Param("afterDate") LocalDate afterDate);
+}
@@ -0,0 +1,87 @@
+package com.restaurant.cart.repository.statistic;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"saleDate", "foodName", "foodPriceCents"}))
+public class SoldFoodDailyEntity {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long soldFoodDailyId;
+
+    private LocalDate saleDate;
+
+    private String foodName;
+
+    private Long foodPriceCents;
+
+    private Long quantitySold;
+
+    private Long totalValueCents;
+
+    public SoldFoodDailyEntity(LocalDate saleDate, String foodName, Long foodPriceCents,
+                               Long quantitySold, Long totalValueCents) {
+        this.saleDate = saleDate;
+        this.foodName = foodName;
+        this.foodPriceCents = foodPriceCents;
+        this.quantitySold = quantitySold;
+        this.totalValueCents = totalValueCents;
+    }
+
+    public SoldFoodDailyEntity() {
+
+    }
+
+    public Long getSoldFoodDailyId() {
+        return soldFoodDailyId;
+    }
+
+    public void setSoldFoodDailyId(Long soldFoodDailyId) {
+        this.soldFoodDailyId = soldFoodDailyId;
+    }
+
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    public void setSaleDate(LocalDate saleDate) {
+        this.saleDate = saleDate;
+    }
+
+    public String getFoodName() {
+        return foodName;
+    }
+
+    public void setFoodName(String foodName) {
+        this.foodName = foodName;
+    }
+
+    public Long getFoodPriceCents() {
+        return foodPriceCents;
+    }
+
+    public void setFoodPriceCents(Long foodPriceCents) {
+        this.foodPriceCents = foodPriceCents;
+    }
+
+    public Long getQuantitySold() {
+        return quantitySold;
+    }
+
+    public void setQuantitySold(Long quantitySold) {
+        this.quantitySold = quantitySold;
+    }
+
+    public Long getTotalValueCents() {
+        return totalValueCents;
+    }
+
+    public void setTotalValueCents(Long totalValueCents) {
+        this.totalValueCents = totalValueCents;
+    }
+}
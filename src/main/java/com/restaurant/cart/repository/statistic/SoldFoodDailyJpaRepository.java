@@ -0,0 +1,73 @@
+package com.restaurant.cart.repository.statistic;
+
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SoldFoodDailyJpaRepository extends JpaRepository<SoldFoodDailyEntity, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "insert into sold_food_daily_entity " +
+            "(sale_date, food_name, food_price_cents, quantity_sold, total_value_cents) " +
+            "values (:saleDate, :foodName, :foodPriceCents, :quantity, :valueCents) " +
+            "on conflict (sale_date, food_name, food_price_cents) do update set " +
+            "quantity_sold = sold_food_daily_entity.quantity_sold + excluded.quantity_sold, " +
+            "total_value_cents = sold_food_daily_entity.total_value_cents + excluded.total_value_cents",
+            nativeQuery = true)
+    void upsert(@Param("saleDate") LocalDate saleDate, @Param("foodName") String foodName,
+                @Param("foodPriceCents") Long foodPriceCents, @Param("quantity") Long quantity,
+                @Param("valueCents") Long valueCents);
+
+    @Modifying
+    @Transactional
+    @Query(value = "merge into sold_food_daily_entity s " +
+            "using (values (:saleDate, :foodName, :foodPriceCents, :quantity, :valueCents)) " +
+            "as v(sale_date, food_name, food_price_cents, quantity_sold, total_value_cents) " +
+            "on s.sale_date = v.sale_date and s.food_name = v.food_name and s.food_price_cents = v.food_price_cents " +
+            "when matched then update set quantity_sold = s.quantity_sold + v.quantity_sold, " +
+            "total_value_cents = s.total_value_cents + v.total_value_cents " +
+            "when not matched then insert (sale_date, food_name, food_price_cents, quantity_sold, total_value_cents) " +
+            "values (v.sale_date, v.food_name, v.food_price_cents, v.quantity_sold, v.total_value_cents)",
+            nativeQuery = true)
+    void merge(@Param("saleDate") LocalDate saleDate, @Param("foodName") String foodName,
+               @Param("foodPriceCents") Long foodPriceCents, @Param("quantity") Long quantity,
+               @Param("valueCents") Long valueCents);
+
+    @Query("select new com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel(" +
+            "s.foodName, s.foodPriceCents, sum(s.quantitySold), sum(s.totalValueCents)) " +
+            "from SoldFoodDailyEntity s where s.saleDate > :afterDate " +
+            "group by s.foodName, s.foodPriceCents having sum(s.quantitySold) > 0")
+    List<SoldFoodStatisticModel> sumSoldFoodAfter(@Param("afterDate") LocalDate afterDate);
+
+    @Query("select new com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel(" +
+            "s.foodName, s.foodPriceCents, sum(s.quantitySold), sum(s.totalValueCents)) " +
+            "from SoldFoodDailyEntity s where s.saleDate > :afterDate and s.foodName in :foodNames " +
+            "group by s.foodName, s.foodPriceCents having sum(s.quantitySold) > 0")
+    List<SoldFoodStatisticModel> sumSoldFoodAfter(@Param("afterDate") LocalDate afterDate,
+                                                  @Param("foodNames") Collection<String> foodNames);
+
+    @Query("select new com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel(" +
+            "s.foodName, s.foodPriceCents, sum(s.quantitySold), sum(s.totalValueCents)) " +
+            "from SoldFoodDailyEntity s where s.saleDate > :afterDate " +
+            "group by s.foodName, s.foodPriceCents having sum(s.quantitySold) > 0 " +
+            "order by sum(s.quantitySold) desc, s.foodName, s.foodPriceCents desc")
+    List<SoldFoodStatisticModel> findTopSoldFoodByQuantityAfter(@Param("afterDate") LocalDate afterDate,
+                                                                Pageable pageable);
+
+    @Query("select new com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel(" +
+            "s.foodName, s.foodPriceCents, sum(s.quantitySold), sum(s.totalValueCents)) " +
+            "from SoldFoodDailyEntity s where s.saleDate > :afterDate " +
+            "group by s.foodName, s.foodPriceCents having sum(s.quantitySold) > 0 " +
+            "order by sum(s.totalValueCents) desc, s.foodName, s.foodPriceCents desc")
+    List<SoldFoodStatisticModel> findTopSoldFoodByRevenueAfter(@Param("afterDate") LocalDate afterDate,
+                                                               Pageable pageable);
+}
@@ -0,0 +1,36 @@
+package com.restaurant.cart.repository.statistic;
+
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.cart.repository.statistic.dto.UserSpendModel;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StatisticRepository {
+
+    void addOrder(CartDeliveredModel cartDeliveredModel);
+
+    Double sumOrdersValueAfter(LocalDate afterDate);
+
+    List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate);
+
+    List<SoldFoodStatisticModel> findSoldFoodAfter(LocalDate afterDate, Collection<String> foodNames);
+
+    List<SoldFoodStatisticModel> findTopSoldFoodAfter(LocalDate afterDate, SoldFoodRanking ranking, int limit);
+
+    boolean isEmpty();
+
+    void addUserSpend(CartDeliveredModel cartDeliveredModel);
+
+    Optional<UserSpendModel> findUserSpend(Long userId);
+
+    boolean isUserSpendEmpty();
+
+    boolean isSnapshotEmpty();
+
+    void addToSnapshot(CartDeliveredModel cartDeliveredModel);
+}
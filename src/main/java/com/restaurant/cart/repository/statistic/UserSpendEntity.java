@@ -0,0 +1,49 @@
+package com.restaurant.cart.repository.statistic;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity
+public class UserSpendEntity {
+
+    @Id
+    private Long userId;
+
+    private Long ordersCount;
+
+    private Long ordersValueCents;
+
+    public UserSpendEntity(Long userId, Long ordersCount, Long ordersValueCents) {
+        this.userId = userId;
+        this.ordersCount = ordersCount;
+        this.ordersValueCents = ordersValueCents;
+    }
+
+    public UserSpendEntity() {
+
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getOrdersCount() {
+        return ordersCount;
+    }
+
+    public void setOrdersCount(Long ordersCount) {
+        this.ordersCount = ordersCount;
+    }
+
+    public Long getOrdersValueCents() {
+        return ordersValueCents;
+    }
+
+    public void setOrdersValueCents(Long ordersValueCents) {
+        this.ordersValueCents = ordersValueCents;
+    }
+}
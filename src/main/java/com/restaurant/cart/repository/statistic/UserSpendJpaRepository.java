@@ -0,0 +1,29 @@
+package com.restaurant.cart.repository.statistic;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserSpendJpaRepository extends JpaRepository<UserSpendEntity, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "insert into user_spend_entity (user_id, orders_count, orders_value_cents) " +
+            "values (:userId, 1, :valueCents) on conflict (user_id) do update set " +
+            "orders_count = user_spend_entity.orders_count + 1, " +
+            "orders_value_cents = user_spend_entity.orders_value_cents + excluded.orders_value_cents",
+            nativeQuery = true)
+    void upsert(@Param("userId") Long userId, @Param("valueCents") Long valueCents);
+
+    @Modifying
+    @Transactional
+    @Query(value = "merge into user_spend_entity u using (values (:userId, :valueCents)) " +
+            "as v(user_id, orders_value_cents) on u.user_id = v.user_id " +
+            "when matched then update set orders_count = u.orders_count + 1, " +
+            "orders_value_cents = u.orders_value_cents + v.orders_value_cents " +
+            "when not matched then insert (user_id, orders_count, orders_value_cents) " +
+            "values (v.user_id, 1, v.orders_value_cents)", nativeQuery = true)
+    void merge(@Param("userId") Long userId, @Param("valueCents") Long valueCents);
+}
@@ -0,0 +1,9 @@
+package com.restaurant.cart.repository.statistic.dto;
+
+public record SoldFoodStatisticModel(
+        String foodName,
+        Long foodPriceCents,
+        Long quantitySold,
+        Long totalValueCents
+) {
+}
@@ -0,0 +1,8 @@
+package com.restaurant.cart.repository.statistic.dto;
+
+public record UserSpendModel(
+        Long userId,
+        Long ordersCount,
+        Long ordersValueCents
+) {
+}
@@ -0,0 +1,137 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.service.current.dto.AddFoodResult;
+import com.restaurant.cart.service.current.dto.AddFoodStatus;
+import com.restaurant.cart.service.current.dto.CartItem;
+import com.restaurant.cart.service.current.dto.ConfirmOrderResult;
+import com.restaurant.cart.service.current.dto.ConfirmOrderStatus;
+import com.restaurant.common.ConstantValues;
+import com.restaurant.common.Status;
+import com.restaurant.food.service.FoodService;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.user.service.UserService;
+import com.restaurant.user.service.dto.User;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class BaseCartCommandService implements CartCommandService {
+
+    private static final CartServiceMapper cartServiceMapper = CartServiceMapper.INSTANCE;
+
+    private final CartRepository cartRepository;
+
+    private final UserService userService;
+
+    private final FoodService foodService;
+
+    private final TransactionOperations transactionOperations;
+
+    private final CartMutationGuard cartMutationGuard;
+
+    public BaseCartCommandService(CartRepository cartRepository, UserService userService, FoodService foodService,
+                                  TransactionOperations transactionOperations, CartMutationGuard cartMutationGuard) {
+        this.cartRepository = cartRepository;
+        this.userService = userService;
+        this.foodService = foodService;
+        this.transactionOperations = transactionOperations;
+        this.cartMutationGuard = cartMutationGuard;
+    }
+
+    @Override
+    public AddFoodResult addFoodToCart(String userEmail, Long categoryId, Long foodId) {
+        return addFoodToCart(userEmail, () -> foodService.getFoodByCategoryIdAndFoodId(categoryId, foodId)
+                .map(food -> Map.of(food, 1)));
+    }
+
+    @Override
+    public AddFoodResult addFoodToCart(String userEmail, List<CartItem> cartItems) {
+        return addFoodToCart(userEmail, () -> getFoodQuantities(cartItems));
+    }
+
+    @Override
+    public ConfirmOrderResult confirmOrder(Long userId) {
+        return cartMutationGuard.execute(userId, () -> transactionOperations.execute(status -> {
+            var cart = cartRepository.findCartByUserId(userId);
+            if (cart.isEmpty() || !cart.get().status().equals(Status.IN_ORDER)) {
+                return new ConfirmOrderResult(ConfirmOrderStatus.EMPTY_CART, null);
+            }
+
+            if (!userService.completeOrder(userId, ConstantValues.my_format(cart.get().cartValue()))) {
+                return new ConfirmOrderResult(ConfirmOrderStatus.NOT_ENOUGH_MONEY, null);
+            }
+
+            cartRepository.changeStatusToInDelivery(userId);
+            return new ConfirmOrderResult(ConfirmOrderStatus.CONFIRMED, cartServiceMapper.mapCartModelToCart(cart.get()));
+        }));
+    }
+
+    private AddFoodResult addFoodToCart(String userEmail, Supplier<Optional<Map<Food, Integer>>> foodLoader) {
+        var user = userService.getUserByEmail(userEmail);
+        if (user.isEmpty()) {
+            return new AddFoodResult(AddFoodStatus.NO_USER, null);
+        }
+
+        // the balance check is advisory only, confirming the order debits the money conditionally
+        return cartMutationGuard.execute(user.get().userId(), () -> transactionOperations.execute(status -> {
+            var food = foodLoader.get();
+            if (food.isEmpty()) {
+                return new AddFoodResult(AddFoodStatus.NO_FOOD, null);
+            }
+
+            return addFoodToLoadedCart(user.get(), food.get());
+        }));
+    }
+
+    private Optional<Map<Food, Integer>> getFoodQuantities(List<CartItem> cartItems) {
+        var food = foodService.getFoodByIds(cartItems.stream()
+                .map(CartItem::foodId)
+                .collect(Collectors.toSet()));
+        if (cartItems.stream().anyMatch(cartItem -> !isFoodInCategory(food.get(cartItem.foodId()), cartItem))) {
+            return Optional.empty();
+        }
+
+        Map<Food, Integer> quantities = new LinkedHashMap<>();
+        cartItems.forEach(cartItem -> quantities.merge(food.get(cartItem.foodId()), cartItem.quantity(), Integer::sum));
+
+        return Optional.of(quantities);
+    }
+
+    private AddFoodResult addFoodToLoadedCart(User user, Map<Food, Integer> food) {
+        var cart = cartRepository.findCartByUserId(user.userId());
+        if (cart.isPresent() && cart.get().status().equals(Status.IN_DELIVERY)) {
+            return new AddFoodResult(AddFoodStatus.IN_DELIVERY, null);
+        }
+
+        var loyaltyCard = user.loyaltyCard();
+        var foodValue = food.entrySet().stream()
+                .mapToDouble(item -> getFoodValue(item.getKey().foodPrice(), loyaltyCard) * item.getValue())
+                .sum();
+        var cartValue = cart.map(CartModel::cartValue).orElse(ConstantValues.DELIVERY_PRICE);
+
+        if (user.money() < cartValue + foodValue) {
+            return new AddFoodResult(AddFoodStatus.NOT_ENOUGH_MONEY, null);
+        }
+
+        var updatedCart = cart.isPresent()
+                ? cartRepository.addToCart(cart.get(), foodValue, food, loyaltyCard).get()
+                : cartRepository.insertWithFood(user.userId(), foodValue, food, loyaltyCard);
+
+        return new AddFoodResult(AddFoodStatus.ADDED, cartServiceMapper.mapCartModelToCart(updatedCart));
+    }
+
+    private boolean isFoodInCategory(Food food, CartItem cartItem) {
+        return food != null && food.categoryId().equals(cartItem.categoryId());
+    }
+
+    private Double getFoodValue(Double foodPrice, Boolean loyaltyCard) {
+        return loyaltyCard ? foodPrice - (foodPrice * ConstantValues.DISCOUNT) : foodPrice;
+    }
+}
@@ -5,16 +5,22 @@ import com.restaurant.cart.repository.current.CartRepository;
 import com.restaurant.cart.service.current.dto.Cart;
 import com.restaurant.cart.service.current.dto.SoldFoodSummary;
 import com.restaurant.cart.service.delivered.CartDeliveredService;
-import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.cart.service.delivered.dto.CartDeliveredPage;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
 import com.restaurant.common.ConstantValues;
 import com.restaurant.common.Status;
 import com.restaurant.food.service.dto.Food;
-import com.restaurant.user.service.dto.User;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
-
-import static java.util.Collections.emptyList;
+import java.util.function.IntUnaryOperator;
 
 public class BaseCartService implements CartService {
 
@@ -24,36 +30,20 @@ public class BaseCartService implements CartService {
 
     private final CartDeliveredService cartDeliveredService;
 
-    public BaseCartService(CartRepository cartRepository, CartDeliveredService cartDeliveredService) {
-        this.cartRepository = cartRepository;
-        this.cartDeliveredService = cartDeliveredService;
-    }
-
-    @Override
-    public Optional<Cart> addFoodToCart(User user, Food food) {
-        Double cartValue = 10D;
-        var foodPrice = food.foodPrice();
-
-        if (cartRepository.existsByUserId(user.userId())) {
-            cartValue = cartRepository.findValueOfCartByUserId(user.userId());
-        } else {
-            if (user.money() >= sumAllExpenses(cartValue, foodPrice, user.loyaltyCard())) {
-                cartRepository.insert(user.userId());
-            }
-        }
+    private final CartMutationGuard cartMutationGuard;
 
-        if (user.money() >= sumAllExpenses(cartValue, foodPrice, user.loyaltyCard())) {
-            if (user.loyaltyCard()) {
-                return cartServiceMapper.cartModelToCart(
-                        cartRepository.addToCart(
-                                user.userId(), foodPrice - (foodPrice * ConstantValues.DISCOUNT), food, user.loyaltyCard()));
-            }
+    private final CartDeliveryPipeline cartDeliveryPipeline;
 
-            return cartServiceMapper.cartModelToCart(
-                    cartRepository.addToCart(user.userId(), foodPrice, food, user.loyaltyCard()));
-        }
+    private final TransactionOperations transactionOperations;
 
-        return Optional.empty();
+    public BaseCartService(CartRepository cartRepository, CartDeliveredService cartDeliveredService,
+                           CartMutationGuard cartMutationGuard, CartDeliveryPipeline cartDeliveryPipeline,
+                           TransactionOperations transactionOperations) {
+        this.cartRepository = cartRepository;
+        this.cartDeliveredService = cartDeliveredService;
+        this.cartMutationGuard = cartMutationGuard;
+        this.cartDeliveryPipeline = cartDeliveryPipeline;
+        this.transactionOperations = transactionOperations;
     }
 
     @Override
@@ -74,21 +64,17 @@ public class BaseCartService implements CartService {
         return Optional.empty();
     }
 
-    @Override
-    public void changeStatus(Long userId) {
-        cartRepository.changeStatusToInDelivery(userId);
-    }
-
     @Override
     public Status confirmAnOrder(Long userId) {
-        var status = getOrderStatus(userId);
+        return cartMutationGuard.execute(userId, () -> transactionOperations.execute(transactionStatus -> {
+            var status = getOrderStatus(userId);
 
-        if (status.equals(Status.IN_DELIVERY)) {
-            cartDeliveredService.addToUser(cartRepository.findCartByUserId(userId));
-            cartRepository.confirmAnOrder(userId);
-        }
+            if (status.equals(Status.IN_DELIVERY)) {
+                cartRepository.findCartByUserId(userId).ifPresent(cartDeliveryPipeline::deliver);
+            }
 
-        return status;
+            return status;
+        }));
     }
 
     @Override
@@ -101,21 +87,13 @@ public class BaseCartService implements CartService {
     }
 
     @Override
-    public List<CartDelivered> getAllDeliveredCart(Long userId) {
-        if (cartDeliveredService.existsByUserId(userId)) {
-            return cartDeliveredService.findByUserId(userId);
-        }
-
-        return emptyList();
+    public Optional<CartDeliveredPage> getDeliveredCartPage(Long userId, String cursor, int limit) {
+        return cartDeliveredService.findPageByUserId(userId, cursor, limit);
     }
 
     @Override
     public Double getOverallCartValue(Long userId) {
-        if (cartDeliveredService.existsByUserId(userId)) {
-            return ConstantValues.my_format(cartDeliveredService.sumAll(userId));
-        }
-
-        return 0D;
+        return ConstantValues.my_format(cartDeliveredService.sumAll(userId));
     }
 
     @Override
@@ -128,20 +106,39 @@ public class BaseCartService implements CartService {
         return cartDeliveredService.findAllUsersOrders(orderDate);
     }
 
+    @Override
+    public List<SoldFoodSummary> getTopSoldFood(OrderDate orderDate, SoldFoodRanking ranking, int limit) {
+        return cartDeliveredService.findTopSoldFood(orderDate, ranking, limit);
+    }
+
+    @Override
+    public List<OrderSeriesPoint> getOrderSeries(ZonedDateTime from, ZonedDateTime to, SeriesBucket bucket) {
+        return cartDeliveredService.getOrderSeries(from, to, bucket);
+    }
+
+    @Override
+    public void exportOrders(ZonedDateTime from, ZonedDateTime to, ExportFormat exportFormat,
+                             OutputStream outputStream) throws IOException {
+        cartDeliveredService.exportOrders(from, to, exportFormat, outputStream);
+    }
+
     @Override
     public Status cancelOrder(Long userId) {
-        var status = getStatus(userId);
+        return cartMutationGuard.execute(userId, () -> transactionOperations.execute(transactionStatus -> {
+            var status = getStatus(userId);
 
-        if (status.equals(Status.IN_ORDER)) {
-            cartRepository.deleteOrder(userId);
-        }
+            if (status.equals(Status.IN_ORDER)) {
+                cartRepository.deleteOrder(userId);
+            }
 
-        return status;
+            return status;
+        }));
     }
 
     @Override
-    public void cancelSpecificOrder(Long userId, Food food) {
-        cartRepository.deleteSpecificOrder(userId, food);
+    public boolean cancelSpecificOrder(Long userId, Food food) {
+        return cartMutationGuard.execute(userId,
+                () -> transactionOperations.execute(status -> cartRepository.decrementFoodQuantity(userId, food)));
     }
 
     @Override
@@ -149,12 +146,19 @@ public class BaseCartService implements CartService {
         return cartRepository.existsFoodInOrder(userId, foodName);
     }
 
-    private Double sumAllExpenses(Double cartValue, Double foodValue, Boolean loyaltyCard) {
-        if (loyaltyCard) {
-            return cartValue + (foodValue - (foodValue * ConstantValues.DISCOUNT));
-        }
+    @Override
+    public void migrateLegacyFood() {
+        migrateLegacyFood(cartRepository::migrateLegacyFood);
+        migrateLegacyFood(cartDeliveredService::migrateLegacyFood);
+    }
+
+    private void migrateLegacyFood(IntUnaryOperator migrateChunk) {
+        int migrated;
 
-        return cartValue + foodValue;
+        do {
+            migrated = transactionOperations.execute(
+                    status -> migrateChunk.applyAsInt(ConstantValues.LEGACY_FOOD_MIGRATION_CHUNK_SIZE));
+        } while (migrated == ConstantValues.LEGACY_FOOD_MIGRATION_CHUNK_SIZE);
     }
 
     private Status getStatus(Long userId) {
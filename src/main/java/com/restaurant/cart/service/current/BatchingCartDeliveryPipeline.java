@@ -0,0 +1,154 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.service.delivered.CartDeliveredService;
+import com.restaurant.common.ConstantValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Confirmed carts are written by one worker in confirmation order, a batch per transaction. The cart row stays
+// IN_DELIVERY until its batch commits, so an order lost with the queue on a crash can simply be confirmed again.
+// The transaction operations have to start a new transaction, because a full or closed queue writes the order on the
+// confirming thread, whose own transaction must not be marked rollback-only by a failed batch.
+public class BatchingCartDeliveryPipeline implements CartDeliveryPipeline, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingCartDeliveryPipeline.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private final CartRepository cartRepository;
+
+    private final CartDeliveredService cartDeliveredService;
+
+    private final TransactionOperations transactionOperations;
+
+    private final int batchSize;
+
+    private final BlockingQueue<CartModel> queue;
+
+    private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService worker;
+
+    private final Object offerLock = new Object();
+
+    private volatile boolean closed;
+
+    public BatchingCartDeliveryPipeline(CartRepository cartRepository, CartDeliveredService cartDeliveredService,
+                                        TransactionOperations transactionOperations, int capacity, int batchSize) {
+        this.cartRepository = cartRepository;
+        this.cartDeliveredService = cartDeliveredService;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "cart-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker.execute(this::writeQueuedOrders);
+    }
+
+    @Override
+    public void deliver(CartModel cartModel) {
+        if (!pendingUserIds.add(cartModel.userId())) {
+            return;
+        }
+
+        // closing and queueing are ordered, so no order is queued after the last drain
+        boolean queued;
+        synchronized (offerLock) {
+            queued = !closed && queue.offer(cartModel);
+        }
+
+        // a full queue pushes back on the caller instead of dropping the order
+        if (!queued) {
+            write(List.of(cartModel));
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (offerLock) {
+            closed = true;
+        }
+        worker.shutdown();
+        try {
+            worker.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<CartModel> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void writeQueuedOrders() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                var cartModel = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (cartModel != null) {
+                    List<CartModel> batch = new ArrayList<>(batchSize);
+                    batch.add(cartModel);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                releaseQueuedOrders();
+                return;
+            }
+        }
+    }
+
+    private void write(List<CartModel> batch) {
+        try {
+            writeInTransaction(batch);
+        } catch (RuntimeException ex) {
+            LOGGER.warn(ConstantValues.CART_DELIVERY_BATCH_FAILED, ex);
+            // one broken cart should not hold back the rest of the batch
+            batch.forEach(cartModel -> {
+                try {
+                    writeInTransaction(List.of(cartModel));
+                } catch (RuntimeException cartEx) {
+                    LOGGER.warn(ConstantValues.CART_DELIVERY_FAILED, cartModel.userId(), cartEx);
+                }
+            });
+        } finally {
+            batch.forEach(cartModel -> pendingUserIds.remove(cartModel.userId()));
+        }
+    }
+
+    private void releaseQueuedOrders() {
+        // the carts stay in delivery, so releasing their users lets the orders be confirmed again
+        List<CartModel> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(cartModel -> {
+            LOGGER.warn(ConstantValues.CART_DELIVERY_FAILED, cartModel.userId());
+            pendingUserIds.remove(cartModel.userId());
+        });
+    }
+
+    private void writeInTransaction(List<CartModel> batch) {
+        transactionOperations.executeWithoutResult(status -> {
+            cartDeliveredService.addAllToUsers(batch);
+            cartRepository.confirmOrders(batch);
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.service.current.dto.AddFoodResult;
+import com.restaurant.cart.service.current.dto.CartItem;
+import com.restaurant.cart.service.current.dto.ConfirmOrderResult;
+
+import java.util.List;
+
+public interface CartCommandService {
+
+    AddFoodResult addFoodToCart(String userEmail, Long categoryId, Long foodId);
+
+    AddFoodResult addFoodToCart(String userEmail, List<CartItem> cartItems);
+
+    ConfirmOrderResult confirmOrder(Long userId);
+}
@@ -0,0 +1,8 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.repository.current.dto.CartModel;
+
+public interface CartDeliveryPipeline {
+
+    void deliver(CartModel cartModel);
+}
@@ -0,0 +1,46 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.common.ConstantValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class CartMutationGuard {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CartMutationGuard.class);
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = IntStream.range(0, STRIPES)
+            .mapToObj(i -> new ReentrantLock())
+            .toArray(ReentrantLock[]::new);
+
+    public <T> T execute(Long userId, Supplier<T> mutation) {
+        // an uncontended ReentrantLock is a single CAS, so only requests of the same user (or stripe) wait
+        var lock = locks[getStripe(userId)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return mutation.get();
+                } catch (OptimisticLockingFailureException ex) {
+                    if (attempt >= ConstantValues.CART_MUTATION_ATTEMPTS) {
+                        throw ex;
+                    }
+                    LOGGER.warn(ConstantValues.CART_MUTATION_CONFLICT);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int getStripe(Long userId) {
+        var hash = userId.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
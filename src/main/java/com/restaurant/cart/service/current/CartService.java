@@ -3,39 +3,50 @@ package com.restaurant.cart.service.current;
 import com.restaurant.cart.controller.dto.OrderDate;
 import com.restaurant.cart.service.current.dto.Cart;
 import com.restaurant.cart.service.current.dto.SoldFoodSummary;
-import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.cart.service.delivered.dto.CartDeliveredPage;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
 import com.restaurant.common.Status;
 import com.restaurant.food.service.dto.Food;
-import com.restaurant.user.service.dto.User;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CartService {
 
-    Optional<Cart> addFoodToCart(User user, Food food);
-
     Optional<Cart> getCart(Long userId);
 
     Optional<Cart> getInDeliveryCart(Long userId);
 
     Status confirmAnOrder(Long userId);
 
-    void changeStatus(Long userId);
-
     Status getOrderStatus(Long userId);
 
-    List<CartDelivered> getAllDeliveredCart(Long userId);
+    Optional<CartDeliveredPage> getDeliveredCartPage(Long userId, String cursor, int limit);
 
     Double getOverallCartValue(Long userId);
 
     Status cancelOrder(Long userId);
 
-    void cancelSpecificOrder(Long userId, Food food);
+    boolean cancelSpecificOrder(Long userId, Food food);
 
     boolean existsFoodByName(Long userId, String foodName);
 
     List<SoldFoodSummary> getOverallSoldFood(OrderDate orderDate);
 
+    List<SoldFoodSummary> getTopSoldFood(OrderDate orderDate, SoldFoodRanking ranking, int limit);
+
     Double getValueOfAllOrders(OrderDate orderDate);
+
+    List<OrderSeriesPoint> getOrderSeries(ZonedDateTime from, ZonedDateTime to, SeriesBucket bucket);
+
+    void exportOrders(ZonedDateTime from, ZonedDateTime to, ExportFormat exportFormat,
+                      OutputStream outputStream) throws IOException;
+
+    void migrateLegacyFood();
 }
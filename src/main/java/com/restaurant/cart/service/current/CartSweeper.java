@@ -0,0 +1,56 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.common.ConstantValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public class CartSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CartSweeper.class);
+
+    private final CartRepository cartRepository;
+
+    private final TransactionOperations transactionOperations;
+
+    private final Clock clock;
+
+    private final Duration idleTimeout;
+
+    private final int chunkSize;
+
+    public CartSweeper(CartRepository cartRepository, TransactionOperations transactionOperations, Clock clock,
+                       Duration idleTimeout, int chunkSize) {
+        this.cartRepository = cartRepository;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+        this.idleTimeout = idleTimeout;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.sweeper.interval-ms:3600000}",
+            initialDelayString = "${cart.sweeper.interval-ms:3600000}")
+    public void sweepIdleCarts() {
+        LOGGER.info(ConstantValues.IDLE_CARTS_REMOVED, deleteIdleCarts());
+    }
+
+    public int deleteIdleCarts() {
+        var modifiedBefore = ZonedDateTime.now(clock).minus(idleTimeout);
+        var removed = 0;
+        List<Long> userIds;
+
+        do {
+            userIds = transactionOperations.execute(status -> cartRepository.deleteIdleCarts(modifiedBefore, chunkSize));
+            removed += userIds.size();
+        } while (userIds.size() == chunkSize);
+
+        return removed;
+    }
+}
@@ -0,0 +1,25 @@
+package com.restaurant.cart.service.current;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.service.delivered.CartDeliveredService;
+
+import java.util.Optional;
+
+public class DirectCartDeliveryPipeline implements CartDeliveryPipeline {
+
+    private final CartRepository cartRepository;
+
+    private final CartDeliveredService cartDeliveredService;
+
+    public DirectCartDeliveryPipeline(CartRepository cartRepository, CartDeliveredService cartDeliveredService) {
+        this.cartRepository = cartRepository;
+        this.cartDeliveredService = cartDeliveredService;
+    }
+
+    @Override
+    public void deliver(CartModel cartModel) {
+        cartDeliveredService.addToUser(Optional.of(cartModel));
+        cartRepository.confirmAnOrder(cartModel.userId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.restaurant.cart.service.current.dto;
+
+public record AddFoodResult(
+        AddFoodStatus status,
+        Cart cart
+) {
+}
@@ -0,0 +1,9 @@
+package com.restaurant.cart.service.current.dto;
+
+public enum AddFoodStatus {
+    ADDED,
+    NO_USER,
+    NO_FOOD,
+    IN_DELIVERY,
+    NOT_ENOUGH_MONEY
+}
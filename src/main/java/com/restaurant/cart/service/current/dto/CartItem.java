@@ -0,0 +1,8 @@
+package com.restaurant.cart.service.current.dto;
+
+public record CartItem(
+        Long categoryId,
+        Long foodId,
+        Integer quantity
+) {
+}
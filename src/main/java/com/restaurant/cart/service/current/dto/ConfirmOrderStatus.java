@@ -0,0 +1,7 @@
+package com.restaurant.cart.service.current.dto;
+
+public enum ConfirmOrderStatus {
+    CONFIRMED,
+    EMPTY_CART,
+    NOT_ENOUGH_MONEY
+}
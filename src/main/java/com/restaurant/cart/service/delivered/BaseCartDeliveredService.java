@@ -3,18 +3,39 @@ package com.restaurant.cart.service.delivered;
 import com.restaurant.cart.controller.dto.OrderDate;
 import com.restaurant.cart.repository.current.dto.CartModel;
 import com.restaurant.cart.repository.delivered.CartDeliveredRepository;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredCursor;
 import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.StatisticRepository;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
 import com.restaurant.cart.service.current.dto.SoldFoodSummary;
-import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.cart.service.delivered.dto.CartDeliveredPage;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.cart.service.delivered.dto.UserSpend;
 import com.restaurant.category.service.CategoryService;
 import com.restaurant.category.service.dto.Category;
 import com.restaurant.food.service.FoodService;
+import com.restaurant.common.ConstantValues;
 import com.restaurant.food.service.dto.Food;
+import com.restaurant.food.service.dto.FoodKey;
+import jakarta.transaction.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.AbstractMap;
+import java.util.Base64;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -25,118 +46,296 @@ public class BaseCartDeliveredService implements CartDeliveredService {
 
     private static final CartDeliveredServiceMapper cartDeliveredServiceMapper = CartDeliveredServiceMapper.INSTANCE;
 
+    private static final String CURSOR_SEPARATOR = "_";
+
     private final CartDeliveredRepository cartDeliveredRepository;
 
+    private final StatisticRepository statisticRepository;
+
     private final FoodService foodService;
 
     private final CategoryService categoryService;
 
-    public BaseCartDeliveredService(CartDeliveredRepository cartDeliveredRepository, FoodService foodService, CategoryService categoryService) {
+    public BaseCartDeliveredService(CartDeliveredRepository cartDeliveredRepository,
+                                    StatisticRepository statisticRepository,
+                                    FoodService foodService, CategoryService categoryService) {
         this.cartDeliveredRepository = cartDeliveredRepository;
+        this.statisticRepository = statisticRepository;
         this.foodService = foodService;
         this.categoryService = categoryService;
     }
 
     @Override
     public void addToUser(Optional<CartModel> cartModel) {
-        cartDeliveredRepository.insert(cartModel);
+        cartDeliveredRepository.insert(cartModel)
+                .ifPresent(order -> {
+                    statisticRepository.addOrder(order);
+                    statisticRepository.addUserSpend(order);
+                });
+    }
+
+    @Override
+    public void addAllToUsers(List<CartModel> cartModels) {
+        cartDeliveredRepository.insertAll(cartModels)
+                .forEach(order -> {
+                    statisticRepository.addOrder(order);
+                    statisticRepository.addUserSpend(order);
+                });
     }
 
     @Override
-    public List<CartDelivered> findByUserId(Long userId) {
-        return cartDeliveredServiceMapper.cartDeliveredModelsToCartDelivered(
-                cartDeliveredRepository.findCartsDeliveredByUserId(userId));
+    @Transactional
+    public void initStatistics() {
+        var rebuildDaily = statisticRepository.isEmpty();
+        var rebuildUserSpend = statisticRepository.isUserSpendEmpty();
+        var loadSnapshot = statisticRepository.isSnapshotEmpty();
+
+        if (!rebuildDaily && !rebuildUserSpend && !loadSnapshot) {
+            return;
+        }
+
+        try (var allOrders = cartDeliveredRepository.streamAllOrders()) {
+            allOrders.forEach(order -> {
+                if (rebuildDaily) {
+                    statisticRepository.addOrder(order);
+                } else if (loadSnapshot) {
+                    statisticRepository.addToSnapshot(order);
+                }
+                if (rebuildUserSpend) {
+                    statisticRepository.addUserSpend(order);
+                }
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<CartDeliveredPage> findPageByUserId(Long userId, String cursor, int limit) {
+        Optional<CartDeliveredCursor> pageCursor = Optional.empty();
+        if (cursor != null) {
+            pageCursor = decodeCursor(cursor);
+            if (pageCursor.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+
+        var carts = cartDeliveredRepository.findCartsDeliveredPage(userId, pageCursor, limit + 1);
+        String nextCursor = null;
+        if (carts.size() > limit) {
+            carts = carts.subList(0, limit);
+            nextCursor = encodeCursor(carts.get(limit - 1));
+        }
+
+        return Optional.of(new CartDeliveredPage(
+                cartDeliveredServiceMapper.cartDeliveredModelsToCartDelivered(carts), nextCursor));
     }
 
     @Override
     public Double sumAll(Long userId) {
-        return cartDeliveredRepository.findCartsDeliveredByUserId(userId)
-                .stream()
-                .mapToDouble(CartDeliveredModel::cartValue)
-                .sum();
+        return getUserSpend(userId).ordersValue();
+    }
+
+    @Override
+    public UserSpend getUserSpend(Long userId) {
+        return statisticRepository.findUserSpend(userId)
+                .map(userSpend -> new UserSpend(
+                        userSpend.ordersCount(), ConstantValues.fromCents(userSpend.ordersValueCents())))
+                .orElseGet(() -> new UserSpend(0L, 0D));
+    }
+
+    @Override
+    public int migrateLegacyFood(int limit) {
+        return cartDeliveredRepository.migrateLegacyFood(limit);
     }
 
     @Override
     public Double sumAllSoldFood(OrderDate orderDate) {
-        ZonedDateTime beforeDate = getDateBefore(orderDate);
+        var beforeDate = getDateBefore(orderDate);
+        var fullDaysValueCents = ConstantValues.toCents(statisticRepository.sumOrdersValueAfter(beforeDate.toLocalDate()));
+        var firstDayValueCents = ConstantValues.toCents(
+                cartDeliveredRepository.sumOrdersValueBetween(beforeDate, getStartOfNextDay(beforeDate)));
 
-        return cartDeliveredRepository.findAllOrders()
-                .stream()
-                .filter(delivered -> delivered.orderDate().isAfter(beforeDate))
-                .mapToDouble(food -> food.cartValue())
-                .sum();
+        return ConstantValues.fromCents(fullDaysValueCents + firstDayValueCents);
     }
 
     @Override
     public List<SoldFoodSummary> findAllUsersOrders(OrderDate orderDate) {
-        ZonedDateTime beforeDate = getDateBefore(orderDate);
-        var allOrders = cartDeliveredRepository.findAllOrders()
-                .stream()
-                .filter(delivered -> delivered.orderDate().isAfter(beforeDate))
+        return summarizeSoldFood(findSoldFoodFrom(getDateBefore(orderDate))).stream()
+                .sorted(Comparator.comparing(SoldFoodSummary::categoryId, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(SoldFoodSummary::positionId, Comparator.nullsLast(Comparator.naturalOrder())))
                 .toList();
+    }
 
-        var allCategories = categoryService.getAll();
-        var categoryMap = allCategories.stream()
-                .collect(Collectors.toMap(Category::categoryId, category -> category));
+    @Override
+    public List<SoldFoodSummary> findTopSoldFood(OrderDate orderDate, SoldFoodRanking ranking, int limit) {
+        var beforeDate = getDateBefore(orderDate);
+        Map<AbstractMap.SimpleEntry<String, Long>, SoldFoodStatisticModel> firstDaySoldFood = new HashMap<>();
+        cartDeliveredRepository.findSoldFoodBetween(beforeDate, getStartOfNextDay(beforeDate))
+                .forEach(food -> firstDaySoldFood.merge(getSoldFoodKey(food), food, this::mergeSoldFood));
 
-        var foodSummaryMap = allOrders.stream()
-                .flatMap(order -> {
-                    List<String> foodList = order.food();
-                    List<Double> priceList = order.foodPrice();
-                    return IntStream.range(0, foodList.size())
-                            .mapToObj(i -> new AbstractMap.SimpleEntry<>(foodList.get(i), priceList.get(i)));
-                })
-                .collect(Collectors.groupingBy(
-                        AbstractMap.SimpleEntry::getKey,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                entries -> {
-                                    String foodName = entries.get(0).getKey();
-                                    Double price = entries.get(0).getValue();
-                                    Integer quantitySold = entries.size();
-                                    Double totalValue = price * quantitySold;
-                                    return new SoldFoodSummary(foodName, price, quantitySold, totalValue,
-                                            null, null, null);
-                                }
-                        )
-                ));
-
-        foodSummaryMap.replaceAll((foodName, summary) -> {
-            Optional<Food> foodItem = foodService.getFoodByNameAndPrice(foodName, summary.price());
-            if (foodItem.isPresent()) {
-                Food foodDetails = foodItem.get();
-                Category categoryDetails = categoryMap.get(foodDetails.categoryId());
-                return new SoldFoodSummary(
-                        foodName,
-                        summary.price(),
-                        summary.quantitySold(),
-                        summary.totalValue(),
-                        foodDetails.categoryId(),
-                        categoryDetails != null ? categoryDetails.categoryName() : null,
-                        foodDetails.positionId()
-                );
-            } else {
-                return summary;
+        // the first day only adds to food it sold, so food sold on full days only can reach the top
+        // just from the top of the rollups, and only the first day food needs its full rollup sums
+        Map<AbstractMap.SimpleEntry<String, Long>, SoldFoodStatisticModel> soldFood = new HashMap<>();
+        statisticRepository.findTopSoldFoodAfter(beforeDate.toLocalDate(), ranking, limit)
+                .forEach(food -> soldFood.put(getSoldFoodKey(food), food));
+        if (!firstDaySoldFood.isEmpty()) {
+            var foodNames = firstDaySoldFood.keySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+            statisticRepository.findSoldFoodAfter(beforeDate.toLocalDate(), foodNames).stream()
+                    .filter(food -> firstDaySoldFood.containsKey(getSoldFoodKey(food)))
+                    .forEach(food -> soldFood.putIfAbsent(getSoldFoodKey(food), food));
+            firstDaySoldFood.forEach((key, food) -> soldFood.merge(key, food, this::mergeSoldFood));
+        }
+
+        return summarizeSoldFood(soldFood.values().stream()
+                .sorted(getRankingComparator(ranking).reversed())
+                .limit(limit)
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    public List<OrderSeriesPoint> getOrderSeries(ZonedDateTime from, ZonedDateTime to, SeriesBucket bucket) {
+        var bucketMillis = bucket.getDuration().toMillis();
+        var bucketsCount = (int) ((Duration.between(from, to).toMillis() + bucketMillis - 1) / bucketMillis);
+        var ordersCount = new long[bucketsCount];
+        var revenueCents = new long[bucketsCount];
+        var itemsSold = new long[bucketsCount];
+
+        try (var orders = cartDeliveredRepository.streamOrderTotalsBetween(from, to)) {
+            orders.forEach(order -> {
+                var index = (int) (Duration.between(from, order.orderDate()).toMillis() / bucketMillis);
+                ordersCount[index]++;
+                revenueCents[index] += ConstantValues.toCents(order.cartValue());
+                itemsSold[index] += order.itemsSold();
+            });
+        }
+
+        return IntStream.range(0, bucketsCount)
+                .mapToObj(i -> new OrderSeriesPoint(
+                        from.plus(bucket.getDuration().multipliedBy(i)),
+                        ordersCount[i],
+                        ConstantValues.fromCents(revenueCents[i]),
+                        itemsSold[i]))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void exportOrders(ZonedDateTime from, ZonedDateTime to, ExportFormat exportFormat,
+                             OutputStream outputStream) throws IOException {
+        var exportWriter = new OrderExportWriter(outputStream, exportFormat);
+        exportWriter.writeHeader();
+
+        try (var orderLines = cartDeliveredRepository.streamOrderLinesBetween(from, to)) {
+            var iterator = orderLines.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.write(iterator.next());
             }
-        });
+        }
+
+        exportWriter.flush();
+    }
 
-        if (foodSummaryMap.isEmpty()) {
+    private List<SoldFoodStatisticModel> findSoldFoodFrom(ZonedDateTime beforeDate) {
+        Map<AbstractMap.SimpleEntry<String, Long>, SoldFoodStatisticModel> soldFood = new HashMap<>();
+
+        statisticRepository.findSoldFoodAfter(beforeDate.toLocalDate())
+                .forEach(food -> soldFood.merge(getSoldFoodKey(food), food, this::mergeSoldFood));
+
+        cartDeliveredRepository.findSoldFoodBetween(beforeDate, getStartOfNextDay(beforeDate))
+                .forEach(food -> soldFood.merge(getSoldFoodKey(food), food, this::mergeSoldFood));
+
+        return List.copyOf(soldFood.values());
+    }
+
+    private List<SoldFoodSummary> summarizeSoldFood(List<SoldFoodStatisticModel> soldFood) {
+        if (soldFood.isEmpty()) {
             return emptyList();
         }
 
-        return foodSummaryMap.values().stream()
-                .sorted(Comparator.comparing(SoldFoodSummary::categoryId)
-                        .thenComparing(SoldFoodSummary::positionId))
+        var categoryMap = categoryService.getAll().stream()
+                .collect(Collectors.toMap(Category::categoryId, category -> category));
+        var foodMap = foodService.getFoodByKeys(soldFood.stream()
+                .map(this::getFoodKey)
+                .collect(Collectors.toSet()));
+
+        return soldFood.stream()
+                .map(food -> {
+                    var summary = cartDeliveredServiceMapper.soldFoodStatisticModelToSoldFoodSummary(food);
+                    Food foodDetails = foodMap.get(getFoodKey(food));
+                    if (foodDetails != null) {
+                        Category categoryDetails = categoryMap.get(foodDetails.categoryId());
+                        return new SoldFoodSummary(
+                                summary.foodName(),
+                                summary.price(),
+                                summary.quantitySold(),
+                                summary.totalValue(),
+                                foodDetails.categoryId(),
+                                categoryDetails != null ? categoryDetails.categoryName() : null,
+                                foodDetails.positionId()
+                        );
+                    } else {
+                        return summary;
+                    }
+                })
                 .toList();
     }
 
-    @Override
-    public boolean existsByUserId(Long userId) {
-        return cartDeliveredRepository.existsByUserId(userId);
+    private Comparator<SoldFoodStatisticModel> getRankingComparator(SoldFoodRanking ranking) {
+        Comparator<SoldFoodStatisticModel> comparator = ranking == SoldFoodRanking.REVENUE
+                ? Comparator.comparing(SoldFoodStatisticModel::totalValueCents)
+                : Comparator.comparing(SoldFoodStatisticModel::quantitySold);
+
+        return comparator
+                .thenComparing(SoldFoodStatisticModel::foodName, Comparator.reverseOrder())
+                .thenComparing(SoldFoodStatisticModel::foodPriceCents);
+    }
+
+    private String encodeCursor(CartDeliveredModel cartDeliveredModel) {
+        var cursor = cartDeliveredModel.orderDate().toInstant() + CURSOR_SEPARATOR + cartDeliveredModel.cartId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Optional<CartDeliveredCursor> decodeCursor(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new CartDeliveredCursor(
+                    Instant.parse(parts[0]).atZone(ZoneOffset.UTC), Long.valueOf(parts[1])));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private FoodKey getFoodKey(SoldFoodStatisticModel soldFood) {
+        return new FoodKey(soldFood.foodName(), soldFood.foodPriceCents());
+    }
+
+    private AbstractMap.SimpleEntry<String, Long> getSoldFoodKey(SoldFoodStatisticModel soldFood) {
+        return new AbstractMap.SimpleEntry<>(soldFood.foodName(), soldFood.foodPriceCents());
+    }
+
+    private SoldFoodStatisticModel mergeSoldFood(SoldFoodStatisticModel first, SoldFoodStatisticModel second) {
+        return new SoldFoodStatisticModel(
+                first.foodName(),
+                first.foodPriceCents(),
+                first.quantitySold() + second.quantitySold(),
+                first.totalValueCents() + second.totalValueCents()
+        );
+    }
+
+    private ZonedDateTime getStartOfNextDay(ZonedDateTime dateTime) {
+        return dateTime.toLocalDate().plusDays(1).atStartOfDay(dateTime.getZone());
     }
 
     ZonedDateTime getDateBefore(OrderDate orderDate) {
-        if(orderDate.orderDate().equals("month")) {
+        if(orderDate.orderDate().equals("week")) {
+            return ZonedDateTime.now().minusWeeks(1);
+        } else if(orderDate.orderDate().equals("month")) {
             return ZonedDateTime.now().minusMonths(1);
         } else if(orderDate.orderDate().equals("half_year")) {
             return ZonedDateTime.now().minusMonths(6);
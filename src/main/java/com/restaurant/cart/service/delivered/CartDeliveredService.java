@@ -3,8 +3,16 @@ package com.restaurant.cart.service.delivered;
 import com.restaurant.cart.controller.dto.OrderDate;
 import com.restaurant.cart.repository.current.dto.CartModel;
 import com.restaurant.cart.service.current.dto.SoldFoodSummary;
-import com.restaurant.cart.service.delivered.dto.CartDelivered;
-
+import com.restaurant.cart.service.delivered.dto.CartDeliveredPage;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.cart.service.delivered.dto.UserSpend;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,13 +20,26 @@ public interface CartDeliveredService {
 
     void addToUser(Optional<CartModel> cartModel);
 
-    List<CartDelivered> findByUserId(Long userId);
+    void addAllToUsers(List<CartModel> cartModels);
+
+    void initStatistics();
 
-    boolean existsByUserId(Long userId);
+    int migrateLegacyFood(int limit);
+
+    Optional<CartDeliveredPage> findPageByUserId(Long userId, String cursor, int limit);
 
     Double sumAll(Long userId);
 
+    UserSpend getUserSpend(Long userId);
+
     Double sumAllSoldFood(OrderDate orderDate);
 
     List<SoldFoodSummary> findAllUsersOrders(OrderDate orderDate);
+
+    List<SoldFoodSummary> findTopSoldFood(OrderDate orderDate, SoldFoodRanking ranking, int limit);
+
+    List<OrderSeriesPoint> getOrderSeries(ZonedDateTime from, ZonedDateTime to, SeriesBucket bucket);
+
+    void exportOrders(ZonedDateTime from, ZonedDateTime to, ExportFormat exportFormat,
+                      OutputStream outputStream) throws IOException;
 }
@@ -1,7 +1,10 @@
 package com.restaurant.cart.service.delivered;
 
 import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.cart.service.current.dto.SoldFoodSummary;
 import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.common.ConstantValues;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
@@ -19,4 +22,16 @@ public interface CartDeliveredServiceMapper {
     }
 
     CartDelivered cartDeliveredModelToCartDelivered(CartDeliveredModel cartDeliveredModel);
+
+    default SoldFoodSummary soldFoodStatisticModelToSoldFoodSummary(SoldFoodStatisticModel soldFoodStatisticModel) {
+        return new SoldFoodSummary(
+                soldFoodStatisticModel.foodName(),
+                ConstantValues.fromCents(soldFoodStatisticModel.foodPriceCents()),
+                soldFoodStatisticModel.quantitySold().intValue(),
+                ConstantValues.fromCents(soldFoodStatisticModel.totalValueCents()),
+                null,
+                null,
+                null
+        );
+    }
 }
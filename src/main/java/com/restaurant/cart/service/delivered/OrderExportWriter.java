@@ -0,0 +1,81 @@
+package com.restaurant.cart.service.delivered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurant.cart.repository.delivered.dto.OrderExportLineModel;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class OrderExportWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final String CSV_HEADER = "cartId,userId,orderDate,loyaltyCard,cartValue,foodName,foodPrice,quantity";
+
+    private static final String NEW_LINE = "\n";
+
+    private final Writer writer;
+
+    private final ExportFormat exportFormat;
+
+    public OrderExportWriter(OutputStream outputStream, ExportFormat exportFormat) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.exportFormat = exportFormat;
+    }
+
+    public void writeHeader() throws IOException {
+        if (exportFormat == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write(NEW_LINE);
+        }
+    }
+
+    public void write(OrderExportLineModel orderLine) throws IOException {
+        if (exportFormat == ExportFormat.CSV) {
+            writer.write(toCsv(orderLine));
+        } else {
+            writer.write(OBJECT_MAPPER.writeValueAsString(orderLine));
+        }
+        writer.write(NEW_LINE);
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private String toCsv(OrderExportLineModel orderLine) {
+        return Stream.of(
+                        orderLine.cartId(),
+                        orderLine.userId(),
+                        orderLine.orderDate() != null
+                                ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(orderLine.orderDate()) : null,
+                        orderLine.loyaltyCard(),
+                        orderLine.cartValue(),
+                        orderLine.foodName(),
+                        orderLine.foodPrice(),
+                        orderLine.quantity())
+                .map(value -> escapeCsv(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    private String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,9 @@
+package com.restaurant.cart.service.delivered.dto;
+
+import java.util.List;
+
+public record CartDeliveredPage(
+        List<CartDelivered> carts,
+        String nextCursor
+) {
+}
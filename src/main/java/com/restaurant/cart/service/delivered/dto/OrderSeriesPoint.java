@@ -0,0 +1,11 @@
+package com.restaurant.cart.service.delivered.dto;
+
+import java.time.ZonedDateTime;
+
+public record OrderSeriesPoint(
+        ZonedDateTime bucketStart,
+        Long ordersCount,
+        Double revenue,
+        Long itemsSold
+) {
+}
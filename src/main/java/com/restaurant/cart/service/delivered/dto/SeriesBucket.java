@@ -0,0 +1,27 @@
+package com.restaurant.cart.service.delivered.dto;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum SeriesBucket {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7));
+
+    private final Duration duration;
+
+    SeriesBucket(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public static Optional<SeriesBucket> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(bucket -> bucket.name().equalsIgnoreCase(name))
+                .findFirst();
+    }
+}
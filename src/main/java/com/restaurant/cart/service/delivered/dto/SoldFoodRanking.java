@@ -0,0 +1,15 @@
+package com.restaurant.cart.service.delivered.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum SoldFoodRanking {
+    QUANTITY,
+    REVENUE;
+
+    public static Optional<SoldFoodRanking> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(ranking -> ranking.name().equalsIgnoreCase(name))
+                .findFirst();
+    }
+}
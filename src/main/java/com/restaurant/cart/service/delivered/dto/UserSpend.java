@@ -0,0 +1,7 @@
+package com.restaurant.cart.service.delivered.dto;
+
+public record UserSpend(
+        Long ordersCount,
+        Double ordersValue
+) {
+}
@@ -3,10 +3,13 @@ package com.restaurant.category.controller;
 import com.restaurant.category.controller.dto.*;
 import com.restaurant.category.controller.validator.CategoryValidator;
 import com.restaurant.category.service.CategoryService;
+import com.restaurant.common.MenuCache;
+import com.restaurant.common.MenuPayloadCache;
 import com.restaurant.food.service.FoodService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -28,17 +31,32 @@ public class CategoryController {
 
     private final FoodService foodService;
 
+    private final MenuCache menuCache;
+
+    private final MenuPayloadCache menuPayloadCache;
+
+    private static final String CATEGORIES_PAYLOAD = "categories";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(CategoryController.class);
 
-    public CategoryController(CategoryService categoryService, FoodService foodService) {
+    public CategoryController(CategoryService categoryService, FoodService foodService, MenuCache menuCache,
+                              MenuPayloadCache menuPayloadCache) {
         this.foodService = foodService;
+        this.menuCache = menuCache;
+        this.menuPayloadCache = menuPayloadCache;
         this.categoryValidator = new CategoryValidator();
         this.categoryService = categoryService;
     }
 
     @GetMapping
-    public ResponseEntity<CategoryListResponse> getCategories() {
-        return ResponseEntity.ok().body(new CategoryListResponse(
+    public ResponseEntity<byte[]> getCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (menuCache.isNotModified(ifNoneMatch)) {
+            return menuPayloadCache.notModified();
+        }
+
+        return menuPayloadCache.ok(CATEGORIES_PAYLOAD, acceptEncoding, () -> new CategoryListResponse(
                 categoryControllerMapper.categoriesToCategoryResponses(
                         categoryService.getAll()).stream().toList()));
     }
@@ -3,10 +3,14 @@ package com.restaurant.category.repository;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+import static com.restaurant.common.ConstantValues.CATEGORY_POSITION_CONSTRAINT;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = CATEGORY_POSITION_CONSTRAINT, columnNames = "positionId"))
 public class CategoryEntity {
 
     @Id
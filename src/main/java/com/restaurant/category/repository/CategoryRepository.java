@@ -20,4 +20,6 @@ public interface CategoryRepository {
     List<CategoryModel> findAll();
 
     boolean exists(Long categoryId);
+
+    boolean existsByPositionId(Long positionId);
 }
@@ -52,6 +52,11 @@ public class JpaWrappedCategoryRepository implements CategoryRepository {
         return categoryJpaRepository.existsById(categoryId);
     }
 
+    @Override
+    public boolean existsByPositionId(Long positionId) {
+        return categoryJpaRepository.existsByPositionId(positionId);
+    }
+
     private CategoryEntity updateCategoryName(UpdateCategory updateCategory, CategoryEntity categoryEntity) {
         categoryEntity.setCategoryName(updateCategory.categoryName());
         categoryEntity.setPositionId(updateCategory.positionId());
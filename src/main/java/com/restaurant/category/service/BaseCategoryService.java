@@ -51,7 +51,6 @@ public class BaseCategoryService implements CategoryService {
 
     @Override
     public boolean existsByPositionId(Long positionId) {
-        return categoryServiceMapper.categoryModelsToCategories(categoryRepository.findAll())
-                .stream().anyMatch(category -> category.positionId().equals(positionId));
+        return categoryRepository.existsByPositionId(positionId);
     }
 }
@@ -0,0 +1,63 @@
+package com.restaurant.category.service;
+
+import com.restaurant.category.controller.dto.CategoryRequest;
+import com.restaurant.category.controller.dto.UpdateCategory;
+import com.restaurant.category.service.dto.Category;
+import com.restaurant.common.MenuCache;
+
+import java.util.List;
+import java.util.Optional;
+
+public class CachingCategoryService implements CategoryService {
+
+    private static final String CATEGORIES_KEY = "categories";
+
+    private final CategoryService categoryService;
+
+    private final MenuCache menuCache;
+
+    public CachingCategoryService(CategoryService categoryService, MenuCache menuCache) {
+        this.categoryService = categoryService;
+        this.menuCache = menuCache;
+    }
+
+    @Override
+    public void delete(Long categoryId) {
+        categoryService.delete(categoryId);
+        menuCache.invalidate(List.of(categoryId));
+    }
+
+    @Override
+    public Optional<Category> findById(Long categoryId) {
+        return categoryService.findById(categoryId);
+    }
+
+    @Override
+    public List<Category> getAll() {
+        return menuCache.get(CATEGORIES_KEY, () -> List.copyOf(categoryService.getAll()));
+    }
+
+    @Override
+    public Category insert(CategoryRequest categoryRequest) {
+        var category = categoryService.insert(categoryRequest);
+        menuCache.invalidate(List.of(category.categoryId()));
+        return category;
+    }
+
+    @Override
+    public Optional<Category> update(UpdateCategory updateCategory) {
+        var category = categoryService.update(updateCategory);
+        menuCache.invalidate(List.of(updateCategory.categoryId()));
+        return category;
+    }
+
+    @Override
+    public boolean existsByCategoryId(Long categoryId) {
+        return categoryService.existsByCategoryId(categoryId);
+    }
+
+    @Override
+    public boolean existsByPositionId(Long positionId) {
+        return categoryService.existsByPositionId(positionId);
+    }
+}
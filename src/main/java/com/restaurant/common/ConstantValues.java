@@ -8,9 +8,28 @@ public class ConstantValues {
     public static final Double DISCOUNT = 0.1D;
     public static final Double DELIVERY_PRICE = 10D;
     public static final DecimalFormat format = new DecimalFormat("0.00");
+    public static final String STREAM_FETCH_SIZE = "500";
+    public static final String DEFAULT_PAGE_SIZE = "20";
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SERIES_POINTS = 10000;
+    public static final String DEFAULT_TOP_SIZE = "10";
+    public static final int MAX_TOP_SIZE = 100;
+    public static final String DEFAULT_SEARCH_SIZE = "10";
+    public static final int MAX_SEARCH_SIZE = 50;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    public static final int MAX_CART_ITEMS = 50;
+    public static final int MAX_CART_ITEM_QUANTITY = 20;
+    public static final int CART_MUTATION_ATTEMPTS = 3;
+    public static final int LEGACY_FOOD_MIGRATION_CHUNK_SIZE = 500;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
     public static final String INVALID_REQUEST_BODY = "Invalid request body";
     public static final String EMPTY_STRING = "";
     public static final String INVALID_CONVERT = "No possibility to use converter";
+    public static final String DATA_CONFLICT = "Request conflicts with existing data";
+    public static final String DATA_INTEGRITY_VIOLATION = "Request violates data integrity";
+    public static final String CATEGORY_POSITION_CONSTRAINT = "uk_category_position";
+    public static final String FOOD_POSITION_CONSTRAINT = "uk_food_category_position";
 
     public static final String CATEGORY_NOT_EXISTS = "Category does not exists";
     public static final String CATEGORY_POSITION_EXISTS = "Category with this position already exists";
@@ -21,6 +40,8 @@ public class ConstantValues {
     public static final String CATEGORY_NOT_EXISTS_TO_ADD_FOOD = "Category doest not exists while adding food";
     public static final String FOOD_POSITION_EXISTS = "Food with this position already exists";
     public static final String FOOD_WITH_CATEGORY_NOT_EXISTS = "Category or food does not exists";
+    public static final String INVALID_FOOD_SEARCH = "Search query should have between 1 and "
+            + MAX_SEARCH_QUERY_LENGTH + " characters and limit between 1 and " + MAX_SEARCH_SIZE;
 
     public static final String NOT_ENOUGH_MONEY = "Not enough money to add food";
     public static final String INVALID_ORDER = "You does not have an order or it has been confirmed previously";
@@ -28,7 +49,23 @@ public class ConstantValues {
     public static final String INVALID_CANCEL = "You does not have an order to cancel";
     public static final String ORDER_IN_DELIVERY = "Order is in delivery";
     public static final String EMPTY_CART = "Cart is empty";
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency key should have between 1 and "
+            + MAX_IDEMPOTENCY_KEY_LENGTH + " characters";
+    public static final String IDLE_CARTS_REMOVED = "Removed {} idle carts";
+    public static final String CART_MUTATION_CONFLICT = "Cart was changed by another request, retrying";
+    public static final String CART_DELIVERY_BATCH_FAILED = "Could not save batch of delivered orders, saving them one by one";
+    public static final String CART_DELIVERY_FAILED = "Could not save delivered order of user {}, it stays in delivery";
+    public static final String CART_FLUSH_FAILED = "Could not save carts to database, they will be saved with next flush";
+    public static final String CART_FLUSH_BACKLOG_FULL = "Carts could not be saved to database for too long, cart edits are refused";
+    public static final String CART_FLUSH_SKIPPED = "Cart of user {} was changed or removed in database, its unsaved edits are dropped";
     public static final String ORDER_WITHOUT_FOOD = "User does not have that food in order";
+    public static final String INVALID_PAGE_SIZE = "Page size should be between 1 and " + MAX_PAGE_SIZE;
+    public static final String INVALID_CURSOR = "Cursor of order history is not valid";
+    public static final String INVALID_SERIES = "Bucket should be hour, day or week and range should have at most "
+            + MAX_SERIES_POINTS + " buckets";
+    public static final String INVALID_TOP_SOLD_FOOD = "Ranking should be quantity or revenue and limit between 1 and "
+            + MAX_TOP_SIZE;
+    public static final String INVALID_EXPORT = "Export format should be csv or ndjson and dates should be in order";
 
     public static final String EMAIL_EXISTS = "Email already exists";
     public static final String USER_NOT_EXISTS = "User does not exists";
@@ -43,4 +80,12 @@ public class ConstantValues {
     public static Double my_format(Double value) {
         return Double.valueOf(format.format(value).replace(",", "."));
     }
+
+    public static Long toCents(Double value) {
+        return Math.round(value * 100);
+    }
+
+    public static Double fromCents(Long cents) {
+        return cents / 100D;
+    }
 }
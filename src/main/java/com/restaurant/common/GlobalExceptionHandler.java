@@ -1,7 +1,9 @@
 package com.restaurant.common;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -9,9 +11,19 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.restaurant.common.ConstantValues.CATEGORY_POSITION_CONSTRAINT;
+import static com.restaurant.common.ConstantValues.DATA_CONFLICT;
+import static com.restaurant.common.ConstantValues.DATA_INTEGRITY_VIOLATION;
+import static com.restaurant.common.ConstantValues.FOOD_POSITION_CONSTRAINT;
 import static com.restaurant.common.ConstantValues.INCORRECT_LOG_DATA;
 import static com.restaurant.common.ConstantValues.NO_ACCESS;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
@@ -29,4 +41,34 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         LOGGER.warn(INCORRECT_LOG_DATA);
         return ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        // only a taken category or food position is a client conflict, other violations stay server errors
+        if (getConstraintName(ex).filter(this::isPositionConstraint).isEmpty()) {
+            LOGGER.error(DATA_INTEGRITY_VIOLATION, ex);
+            return ResponseEntity.status(INTERNAL_SERVER_ERROR).build();
+        }
+
+        LOGGER.warn(DATA_CONFLICT);
+        return ResponseEntity.status(CONFLICT).build();
+    }
+
+    private Optional<String> getConstraintName(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return Optional.of(violation.getConstraintName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isPositionConstraint(String constraintName) {
+        // h2 names the schema qualified index backing the constraint and appends the violating row
+        var name = constraintName.replace("\"", "").split("\\s+")[0].toLowerCase(Locale.ROOT);
+        var unqualifiedName = name.substring(name.lastIndexOf('.') + 1);
+        return Stream.of(CATEGORY_POSITION_CONSTRAINT, FOOD_POSITION_CONSTRAINT)
+                .anyMatch(constraint -> unqualifiedName.equals(constraint)
+                        || unqualifiedName.startsWith(constraint + "_index_"));
+    }
 }
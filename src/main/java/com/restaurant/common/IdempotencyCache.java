@@ -0,0 +1,86 @@
+package com.restaurant.common;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public class IdempotencyCache {
+
+    private final Map<String, CachedResponse> responses;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    public IdempotencyCache(int maxSize, Duration timeToLive, Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, Supplier<ResponseEntity<T>> request) {
+        var response = new CompletableFuture<ResponseEntity<?>>();
+        CompletableFuture<ResponseEntity<?>> cachedResponse;
+
+        synchronized (responses) {
+            var cached = responses.get(key);
+            if (cached == null || cached.expiresAt().isBefore(clock.instant())) {
+                responses.put(key, new CachedResponse(response, clock.instant().plus(timeToLive)));
+                cachedResponse = null;
+            } else {
+                cachedResponse = cached.response();
+            }
+        }
+
+        if (cachedResponse != null) {
+            try {
+                return (ResponseEntity<T>) cachedResponse.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+
+        try {
+            var result = request.get();
+            // only a success is replayed, a rejected request may pass once the user fixes its cause
+            if (!result.getStatusCode().is2xxSuccessful()) {
+                evict(key, response);
+            }
+            response.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            // a failed request is not cached, so a retry with the same key runs again
+            evict(key, response);
+            response.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private void evict(String key, CompletableFuture<ResponseEntity<?>> response) {
+        synchronized (responses) {
+            var cached = responses.get(key);
+            if (cached != null && cached.response() == response) {
+                responses.remove(key);
+            }
+        }
+    }
+
+    private record CachedResponse(CompletableFuture<ResponseEntity<?>> response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.restaurant.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class MenuCache {
+
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private final long initialVersion;
+
+    private final AtomicLong version;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> categoryVersions = new ConcurrentHashMap<>();
+
+    public MenuCache(long initialVersion) {
+        this.initialVersion = initialVersion;
+        this.version = new AtomicLong(initialVersion);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public String getETag() {
+        return "\"" + version.get() + "\"";
+    }
+
+    public boolean isNotModified(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        var eTag = getETag();
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_ETAG_PREFIX) ? tag.substring(WEAK_ETAG_PREFIX.length()) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        var currentVersion = version.get();
+        var snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version() == currentVersion) {
+            return (T) snapshot.value();
+        }
+
+        // a snapshot loaded while the menu changes keeps the old version, so the next read loads it again
+        var value = loader.get();
+        snapshots.put(key, new Snapshot(currentVersion, value));
+        return value;
+    }
+
+    public Optional<Set<Long>> getCategoriesChangedSince(long sinceVersion) {
+        // changes from before the start of this instance are not known
+        if (sinceVersion < initialVersion) {
+            return Optional.empty();
+        }
+
+        return Optional.of(categoryVersions.entrySet().stream()
+                .filter(category -> category.getValue() > sinceVersion)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet()));
+    }
+
+    public void invalidate(Collection<Long> categoryIds) {
+        bumpVersion(categoryIds);
+
+        // readers between the write and its commit may have cached the old menu under the new version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion(categoryIds);
+                }
+            });
+        }
+    }
+
+    private synchronized void bumpVersion(Collection<Long> categoryIds) {
+        var nextVersion = version.get() + 1;
+        categoryIds.forEach(categoryId -> categoryVersions.put(categoryId, nextVersion));
+        version.set(nextVersion);
+        snapshots.clear();
+    }
+
+    private record Snapshot(long version, Object value) {
+    }
+}
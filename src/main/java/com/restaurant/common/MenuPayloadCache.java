@@ -0,0 +1,92 @@
+package com.restaurant.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+public class MenuPayloadCache {
+
+    private static final String KEY_PREFIX = "payload/";
+
+    private static final String GZIP = "gzip";
+
+    private final MenuCache menuCache;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    private final boolean gzipEnabled;
+
+    public MenuPayloadCache(MenuCache menuCache, ObjectMapper objectMapper, boolean enabled, boolean gzipEnabled) {
+        this.menuCache = menuCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    public ResponseEntity<byte[]> ok(String key, String acceptEncoding, Supplier<?> response) {
+        var eTag = menuCache.getETag();
+        var payload = enabled
+                ? menuCache.get(KEY_PREFIX + key, () -> serialize(response.get(), gzipEnabled))
+                : serialize(response.get(), false);
+
+        var responseBuilder = getResponseBuilder(eTag);
+        if (payload.gzippedJson() != null && acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+            return responseBuilder
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .body(payload.gzippedJson());
+        }
+
+        return responseBuilder.body(payload.json());
+    }
+
+    public ResponseEntity<byte[]> ok(Object response) {
+        var eTag = menuCache.getETag();
+        return getResponseBuilder(eTag).body(serialize(response, false).json());
+    }
+
+    public ResponseEntity<byte[]> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(menuCache.getETag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    private ResponseEntity.BodyBuilder getResponseBuilder(String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private Payload serialize(Object response, boolean gzipped) {
+        try {
+            var json = objectMapper.writeValueAsBytes(response);
+            return new Payload(json, gzipped ? gzip(json) : null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private byte[] gzip(byte[] json) throws IOException {
+        var output = new ByteArrayOutputStream(json.length / 4);
+        try (var gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(json);
+        }
+        return output.toByteArray();
+    }
+
+    private record Payload(byte[] json, byte[] gzippedJson) {
+    }
+}
@@ -2,16 +2,21 @@ package com.restaurant.food.controller;
 
 import com.restaurant.food.controller.dto.*;
 import com.restaurant.category.service.CategoryService;
+import com.restaurant.category.service.dto.Category;
 import com.restaurant.common.ConstantValues;
+import com.restaurant.common.MenuCache;
+import com.restaurant.common.MenuPayloadCache;
 import com.restaurant.food.controller.validator.FoodValidator;
 import com.restaurant.food.service.FoodService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.springframework.http.HttpStatus.CREATED;
 
@@ -27,19 +32,42 @@ public class FoodController {
 
     private final CategoryService categoryService;
 
+    private final MenuCache menuCache;
+
+    private final MenuPayloadCache menuPayloadCache;
+
+    private static final String FOOD_PAYLOAD_PREFIX = "food/";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(FoodController.class);
 
-    public FoodController(FoodService foodService, CategoryService categoryService) {
+    public FoodController(FoodService foodService, CategoryService categoryService, MenuCache menuCache,
+                          MenuPayloadCache menuPayloadCache) {
         this.foodValidator = new FoodValidator();
         this.foodService = foodService;
         this.categoryService = categoryService;
+        this.menuCache = menuCache;
+        this.menuPayloadCache = menuPayloadCache;
     }
 
     @GetMapping("/{categoryId}/food")
-    public ResponseEntity<FoodListResponse> getFoodByCategoryId(@PathVariable Long categoryId) {
-        return ResponseEntity.ok().body(new FoodListResponse(
+    public ResponseEntity<byte[]> getFoodByCategoryId(
+            @PathVariable Long categoryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (menuCache.isNotModified(ifNoneMatch)) {
+            return menuPayloadCache.notModified();
+        }
+
+        Supplier<FoodListResponse> response = () -> new FoodListResponse(
                 foodControllerMapper.foodsToFoodResponses(
-                        foodService.getFoodByCategoryId(categoryId).stream().toList())));
+                        foodService.getFoodByCategoryId(categoryId).stream().toList()));
+
+        // payloads of unlisted categories are not cached, so arbitrary ids do not grow the cache
+        if (!isCategoryListed(categoryId)) {
+            return menuPayloadCache.ok(response.get());
+        }
+
+        return menuPayloadCache.ok(FOOD_PAYLOAD_PREFIX + categoryId, acceptEncoding, response);
     }
 
     @PostMapping("/food")
@@ -50,6 +78,20 @@ public class FoodController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/food/search")
+    public ResponseEntity<FoodListResponse> searchFood(
+            @RequestParam String query,
+            @RequestParam(defaultValue = ConstantValues.DEFAULT_SEARCH_SIZE) Integer limit) {
+        if (query.isBlank() || query.length() > ConstantValues.MAX_SEARCH_QUERY_LENGTH
+                || limit < 1 || limit > ConstantValues.MAX_SEARCH_SIZE) {
+            LOGGER.warn(ConstantValues.INVALID_FOOD_SEARCH);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok().body(new FoodListResponse(
+                foodControllerMapper.foodsToFoodResponses(foodService.search(query, limit))));
+    }
+
     @GetMapping("/{categoryId}/food/{foodId}")
     public ResponseEntity<FoodResponse> getFoodByCategoryIdAndFoodId(@PathVariable Long categoryId,
                                                                      @PathVariable Long foodId) {
@@ -130,4 +172,10 @@ public class FoodController {
                 .map(updatedFood -> ResponseEntity.ok().body(foodControllerMapper.foodToFoodResponse(updatedFood)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    private boolean isCategoryListed(Long categoryId) {
+        return categoryService.getAll().stream()
+                .map(Category::categoryId)
+                .anyMatch(categoryId::equals);
+    }
 }
@@ -4,10 +4,16 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+import static com.restaurant.common.ConstantValues.FOOD_POSITION_CONSTRAINT;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Table(indexes = @Index(columnList = "foodName"),
+        uniqueConstraints = @UniqueConstraint(name = FOOD_POSITION_CONSTRAINT, columnNames = {"categoryId", "positionId"}))
 public class FoodEntity {
 
     @Id
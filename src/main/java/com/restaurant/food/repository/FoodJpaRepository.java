@@ -2,6 +2,7 @@ package com.restaurant.food.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +14,11 @@ public interface FoodJpaRepository extends JpaRepository<FoodEntity, Long> {
 
     boolean existsByCategoryIdAndFoodId(Long categoryId, Long foodId);
 
+    boolean existsByCategoryIdAndPositionId(Long categoryId, Long positionId);
+
     Optional<FoodEntity> getFoodByFoodNameAndFoodPrice(String foodName, Double foodPrice);
 
+    List<FoodEntity> getFoodByFoodNameIn(Collection<String> foodNames);
+
     void deleteByCategoryId(Long categoryId);
 }
@@ -3,6 +3,7 @@ package com.restaurant.food.repository;
 import com.restaurant.food.controller.dto.FoodRequest;
 import com.restaurant.food.repository.dto.FoodModel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +21,14 @@ public interface FoodRepository {
 
     boolean existsByCategoryIdAndFoodId(Long categoryId, Long foodId);
 
+    boolean existsByCategoryIdAndPositionId(Long categoryId, Long positionId);
+
     Optional<FoodModel> getFoodByFoodNameAndFoodPrice(String foodName, Double foodPrice);
 
+    List<FoodModel> getFoodByFoodNames(Collection<String> foodNames);
+
+    List<FoodModel> getFoodByFoodIds(Collection<Long> foodIds);
+
     List<FoodModel> getFood();
 
     void deleteByCategoryId(Long categoryId);
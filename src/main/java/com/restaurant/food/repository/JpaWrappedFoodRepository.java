@@ -3,6 +3,7 @@ package com.restaurant.food.repository;
 import com.restaurant.food.controller.dto.FoodRequest;
 import com.restaurant.food.repository.dto.FoodModel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,11 @@ public class JpaWrappedFoodRepository implements FoodRepository {
         return foodJpaRepository.existsByCategoryIdAndFoodId(categoryId, foodId);
     }
 
+    @Override
+    public boolean existsByCategoryIdAndPositionId(Long categoryId, Long positionId) {
+        return foodJpaRepository.existsByCategoryIdAndPositionId(categoryId, positionId);
+    }
+
     @Override
     public void deleteById(Long foodId) {
         foodJpaRepository.deleteById(foodId);
@@ -50,6 +56,16 @@ public class JpaWrappedFoodRepository implements FoodRepository {
                 .map(foodRepositoryMapper::foodEntityToFoodModel);
     }
 
+    @Override
+    public List<FoodModel> getFoodByFoodNames(Collection<String> foodNames) {
+        return foodRepositoryMapper.foodEntitiesToFoodModels(foodJpaRepository.getFoodByFoodNameIn(foodNames));
+    }
+
+    @Override
+    public List<FoodModel> getFoodByFoodIds(Collection<Long> foodIds) {
+        return foodRepositoryMapper.foodEntitiesToFoodModels(foodJpaRepository.findAllById(foodIds));
+    }
+
     @Override
     public Optional<FoodModel> getFoodByCategoryIdAndFoodId(Long categoryId, Long foodId) {
         return foodJpaRepository.getFoodByCategoryIdAndFoodId(categoryId, foodId)
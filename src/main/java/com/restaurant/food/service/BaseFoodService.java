@@ -2,29 +2,40 @@ package com.restaurant.food.service;
 
 import com.restaurant.food.controller.dto.FoodRequest;
 import com.restaurant.food.repository.FoodRepository;
+import com.restaurant.common.ConstantValues;
 import com.restaurant.food.service.dto.Food;
+import com.restaurant.food.service.dto.FoodKey;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyMap;
 
 public class BaseFoodService implements FoodService {
 
     private static final FoodServiceMapper foodServiceMapper = FoodServiceMapper.INSTANCE;
     private final FoodRepository foodRepository;
 
-    public BaseFoodService(FoodRepository foodRepository) {
+    private final FoodSearchIndex foodSearchIndex;
+
+    public BaseFoodService(FoodRepository foodRepository, FoodSearchIndex foodSearchIndex) {
         this.foodRepository = foodRepository;
+        this.foodSearchIndex = foodSearchIndex;
     }
 
     @Override
     public Food insert(FoodRequest foodRequest, Long categoryId) {
-        return foodServiceMapper.foodModelToFood(foodRepository.save(foodRequest, categoryId));
+        var food = foodServiceMapper.foodModelToFood(foodRepository.save(foodRequest, categoryId));
+        foodSearchIndex.put(food);
+        return food;
     }
 
     @Override
     public boolean existsByPositionId(Long categoryId, Long positionId) {
-        return foodServiceMapper.foodModelsToFoods(foodRepository.getFoodByCategoryId(categoryId))
-                .stream().anyMatch(food -> food.positionId().equals(positionId));
+        return foodRepository.existsByCategoryIdAndPositionId(categoryId, positionId);
     }
 
     @Override
@@ -32,12 +43,49 @@ public class BaseFoodService implements FoodService {
         return foodServiceMapper.foodModelsToFoods(foodRepository.getFoodByCategoryId(categoryId));
     }
 
+    @Override
+    public List<Food> getAll() {
+        return foodServiceMapper.foodModelsToFoods(foodRepository.getFood());
+    }
+
+    @Override
+    public List<Food> search(String query, int limit) {
+        return foodSearchIndex.search(query, limit, this::getAll);
+    }
+
     @Override
     public Optional<Food> getFoodByNameAndPrice(String foodName, Double foodPrice) {
         return foodRepository.getFoodByFoodNameAndFoodPrice(foodName, foodPrice)
                 .map(foodServiceMapper::foodModelToFood);
     }
 
+    @Override
+    public Map<FoodKey, Food> getFoodByKeys(Set<FoodKey> foodKeys) {
+        if (foodKeys.isEmpty()) {
+            return emptyMap();
+        }
+
+        var foodNames = foodKeys.stream()
+                .map(FoodKey::foodName)
+                .collect(Collectors.toSet());
+
+        return foodServiceMapper.foodModelsToFoods(foodRepository.getFoodByFoodNames(foodNames))
+                .stream()
+                .filter(food -> foodKeys.contains(getFoodKey(food)))
+                .collect(Collectors.toMap(this::getFoodKey, food -> food, (first, second) -> first));
+    }
+
+    @Override
+    public Map<Long, Food> getFoodByIds(Set<Long> foodIds) {
+        if (foodIds.isEmpty()) {
+            return emptyMap();
+        }
+
+        return foodServiceMapper.foodModelsToFoods(foodRepository.getFoodByFoodIds(foodIds))
+                .stream()
+                .collect(Collectors.toMap(Food::foodId, food -> food));
+    }
+
     @Override
     public boolean existsByCategoryIdAndFoodId(Long categoryId, Long foodId) {
         return foodRepository.existsByCategoryIdAndFoodId(categoryId, foodId);
@@ -46,12 +94,15 @@ public class BaseFoodService implements FoodService {
     @Override
     public void deleteById(Long foodId) {
         foodRepository.deleteById(foodId);
+        foodSearchIndex.remove(foodId);
     }
 
     @Override
     public Optional<Food> update(Food food) {
-        return foodRepository.update(foodServiceMapper.foodToFoodModel(food))
+        var updatedFood = foodRepository.update(foodServiceMapper.foodToFoodModel(food))
                 .map(foodServiceMapper::foodModelToFood);
+        updatedFood.ifPresent(foodSearchIndex::put);
+        return updatedFood;
     }
 
     @Override
@@ -63,5 +114,10 @@ public class BaseFoodService implements FoodService {
     @Override
     public void deleteByCategoryId(Long categoryId) {
         foodRepository.deleteByCategoryId(categoryId);
+        foodSearchIndex.removeByCategoryId(categoryId);
+    }
+
+    private FoodKey getFoodKey(Food food) {
+        return new FoodKey(food.foodName(), ConstantValues.toCents(food.foodPrice()));
     }
 }
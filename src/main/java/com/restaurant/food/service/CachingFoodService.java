@@ -0,0 +1,135 @@
+package com.restaurant.food.service;
+
+import com.restaurant.category.service.CategoryService;
+import com.restaurant.category.service.dto.Category;
+import com.restaurant.common.MenuCache;
+import com.restaurant.food.controller.dto.FoodRequest;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.food.service.dto.FoodKey;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class CachingFoodService implements FoodService {
+
+    private static final String FOOD_KEY_PREFIX = "food/";
+
+    private static final String ALL_FOOD_KEY = "food";
+
+    private final FoodService foodService;
+
+    private final CategoryService categoryService;
+
+    private final MenuCache menuCache;
+
+    public CachingFoodService(FoodService foodService, CategoryService categoryService, MenuCache menuCache) {
+        this.foodService = foodService;
+        this.categoryService = categoryService;
+        this.menuCache = menuCache;
+    }
+
+    @Override
+    public Food insert(FoodRequest foodRequest, Long categoryId) {
+        var food = foodService.insert(foodRequest, categoryId);
+        menuCache.invalidate(List.of(categoryId));
+        return food;
+    }
+
+    @Override
+    public boolean existsByPositionId(Long categoryId, Long positionId) {
+        return foodService.existsByPositionId(categoryId, positionId);
+    }
+
+    @Override
+    public List<Food> getFoodByCategoryId(Long categoryId) {
+        // only listed categories get a snapshot, so arbitrary ids from the public endpoint do not grow the cache
+        if (!isCategoryListed(categoryId)) {
+            return foodService.getFoodByCategoryId(categoryId);
+        }
+
+        return getCachedFood(categoryId);
+    }
+
+    @Override
+    public List<Food> getAll() {
+        return menuCache.get(ALL_FOOD_KEY, () -> List.copyOf(foodService.getAll()));
+    }
+
+    @Override
+    public List<Food> search(String query, int limit) {
+        return foodService.search(query, limit);
+    }
+
+    @Override
+    public void deleteById(Long foodId) {
+        var categoryIds = getCategoryIds(foodId);
+        foodService.deleteById(foodId);
+        menuCache.invalidate(categoryIds);
+    }
+
+    @Override
+    public Optional<Food> update(Food food) {
+        Set<Long> categoryIds = new HashSet<>(getCategoryIds(food.foodId()));
+        categoryIds.add(food.categoryId());
+        var updatedFood = foodService.update(food);
+        menuCache.invalidate(categoryIds);
+        return updatedFood;
+    }
+
+    @Override
+    public Optional<Food> getFoodByCategoryIdAndFoodId(Long categoryId, Long foodId) {
+        // adding to cart prices the food from the same snapshot the menu is served from
+        if (!isCategoryListed(categoryId)) {
+            return foodService.getFoodByCategoryIdAndFoodId(categoryId, foodId);
+        }
+
+        return getCachedFood(categoryId).stream()
+                .filter(food -> food.foodId().equals(foodId))
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsByCategoryIdAndFoodId(Long categoryId, Long foodId) {
+        return foodService.existsByCategoryIdAndFoodId(categoryId, foodId);
+    }
+
+    @Override
+    public Optional<Food> getFoodByNameAndPrice(String foodName, Double foodPrice) {
+        return foodService.getFoodByNameAndPrice(foodName, foodPrice);
+    }
+
+    @Override
+    public Map<FoodKey, Food> getFoodByKeys(Set<FoodKey> foodKeys) {
+        return foodService.getFoodByKeys(foodKeys);
+    }
+
+    @Override
+    public Map<Long, Food> getFoodByIds(Set<Long> foodIds) {
+        return foodService.getFoodByIds(foodIds);
+    }
+
+    @Override
+    public void deleteByCategoryId(Long categoryId) {
+        foodService.deleteByCategoryId(categoryId);
+        menuCache.invalidate(List.of(categoryId));
+    }
+
+    private List<Food> getCachedFood(Long categoryId) {
+        return menuCache.get(FOOD_KEY_PREFIX + categoryId, () -> List.copyOf(foodService.getFoodByCategoryId(categoryId)));
+    }
+
+    private boolean isCategoryListed(Long categoryId) {
+        return categoryService.getAll().stream()
+                .map(Category::categoryId)
+                .anyMatch(categoryId::equals);
+    }
+
+    private List<Long> getCategoryIds(Long foodId) {
+        return foodService.getFoodByIds(Set.of(foodId)).values().stream()
+                .map(Food::categoryId)
+                .toList();
+    }
+}
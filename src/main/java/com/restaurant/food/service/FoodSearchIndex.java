@@ -0,0 +1,274 @@
+package com.restaurant.food.service;
+
+import com.restaurant.food.service.dto.Food;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+
+public class FoodSearchIndex {
+
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IndexedFood> food = new HashMap<>();
+
+    private final TrieNode prefixes = new TrieNode();
+
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    private boolean loaded;
+
+    public List<Food> search(String query, int limit, Supplier<Collection<Food>> loader) {
+        var words = getWords(normalize(query));
+        var name = String.join(" ", words);
+        if (words.isEmpty()) {
+            return emptyList();
+        }
+
+        loadIfNeeded(loader);
+
+        lock.readLock().lock();
+        try {
+            var queryTrigrams = getTrigrams(words);
+            var candidates = new HashSet<>(findByPrefixes(words));
+            queryTrigrams.forEach(trigram -> candidates.addAll(trigrams.getOrDefault(trigram, emptySet())));
+
+            return candidates.stream()
+                    .map(food::get)
+                    .map(indexedFood -> new Match(indexedFood, getRank(indexedFood, name, words),
+                            getSimilarity(indexedFood.trigrams(), queryTrigrams)))
+                    .filter(match -> match.rank() < Match.FUZZY || match.similarity() >= MIN_SIMILARITY)
+                    .sorted(Comparator.comparingInt(Match::rank)
+                            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+                            .thenComparing(match -> match.indexedFood().name())
+                            .thenComparing(match -> match.indexedFood().food().foodId()))
+                    .limit(limit)
+                    .map(match -> match.indexedFood().food())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Food food) {
+        afterCommit(() -> {
+            removeFood(food.foodId());
+            add(food);
+        });
+    }
+
+    public void remove(Long foodId) {
+        afterCommit(() -> removeFood(foodId));
+    }
+
+    public void removeByCategoryId(Long categoryId) {
+        afterCommit(() -> food.values().stream()
+                .filter(indexedFood -> indexedFood.food().categoryId().equals(categoryId))
+                .map(indexedFood -> indexedFood.food().foodId())
+                .toList()
+                .forEach(this::removeFood));
+    }
+
+    private void loadIfNeeded(Supplier<Collection<Food>> loader) {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // loading under the write lock makes changes committed meanwhile wait and apply on top of the loaded food
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loader.get().forEach(this::add);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable lockedChange = () -> {
+            lock.writeLock().lock();
+            try {
+                // food is read from the database on the first search, so changes before it are already there
+                if (loaded) {
+                    change.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lockedChange.run();
+                }
+            });
+        } else {
+            lockedChange.run();
+        }
+    }
+
+    private void add(Food food) {
+        var words = getWords(normalize(food.foodName()));
+        var name = String.join(" ", words);
+        var foodTrigrams = getTrigrams(words);
+
+        this.food.put(food.foodId(), new IndexedFood(food, name, words, foodTrigrams));
+        words.forEach(word -> prefixes.add(word, food.foodId()));
+        foodTrigrams.forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(food.foodId()));
+    }
+
+    private void removeFood(Long foodId) {
+        var indexedFood = food.remove(foodId);
+        if (indexedFood == null) {
+            return;
+        }
+
+        indexedFood.words().forEach(word -> prefixes.remove(word, foodId));
+        indexedFood.trigrams().forEach(trigram -> {
+            var postings = trigrams.get(trigram);
+            postings.remove(foodId);
+            if (postings.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        });
+    }
+
+    private Set<Long> findByPrefixes(List<String> words) {
+        Set<Long> foodIds = null;
+        for (var word : words) {
+            var wordFoodIds = prefixes.find(word);
+            if (foodIds == null) {
+                foodIds = new HashSet<>(wordFoodIds);
+            } else {
+                foodIds.retainAll(wordFoodIds);
+            }
+        }
+        return foodIds;
+    }
+
+    private int getRank(IndexedFood indexedFood, String name, List<String> words) {
+        if (indexedFood.name().equals(name)) {
+            return Match.EXACT;
+        }
+        if (indexedFood.name().startsWith(name)) {
+            return Match.NAME_PREFIX;
+        }
+        if (words.stream().allMatch(word -> indexedFood.words().stream().anyMatch(foodWord -> foodWord.startsWith(word)))) {
+            return Match.WORD_PREFIX;
+        }
+        return Match.FUZZY;
+    }
+
+    private double getSimilarity(Set<String> foodTrigrams, Set<String> queryTrigrams) {
+        var shared = queryTrigrams.stream()
+                .filter(foodTrigrams::contains)
+                .count();
+        return (double) shared / (foodTrigrams.size() + queryTrigrams.size() - shared);
+    }
+
+    private static String normalize(String text) {
+        // Polish letters are matched without diacritics, ł does not decompose so it is replaced separately
+        return Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('ł', 'l');
+    }
+
+    private static List<String> getWords(String name) {
+        return Arrays.stream(name.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> getTrigrams(List<String> words) {
+        Set<String> wordTrigrams = new HashSet<>();
+        words.forEach(word -> {
+            var paddedWord = "  " + word + " ";
+            for (int i = 0; i + 3 <= paddedWord.length(); i++) {
+                wordTrigrams.add(paddedWord.substring(i, i + 3));
+            }
+        });
+        return wordTrigrams;
+    }
+
+    private record IndexedFood(Food food, String name, List<String> words, Set<String> trigrams) {
+    }
+
+    private record Match(IndexedFood indexedFood, int rank, double similarity) {
+
+        private static final int EXACT = 0;
+
+        private static final int NAME_PREFIX = 1;
+
+        private static final int WORD_PREFIX = 2;
+
+        private static final int FUZZY = 3;
+    }
+
+    private static class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+
+        private final Set<Long> foodIds = new HashSet<>();
+
+        private void add(String word, Long foodId) {
+            var node = this;
+            for (char letter : word.toCharArray()) {
+                node = node.children.computeIfAbsent(letter, key -> new TrieNode());
+                node.foodIds.add(foodId);
+            }
+        }
+
+        private void remove(String word, Long foodId) {
+            var node = this;
+            for (char letter : word.toCharArray()) {
+                var child = node.children.get(letter);
+                if (child == null) {
+                    return;
+                }
+                child.foodIds.remove(foodId);
+                if (child.foodIds.isEmpty()) {
+                    node.children.remove(letter);
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        private Set<Long> find(String prefix) {
+            var node = this;
+            for (char letter : prefix.toCharArray()) {
+                node = node.children.get(letter);
+                if (node == null) {
+                    return emptySet();
+                }
+            }
+            return node.foodIds;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.restaurant.food.service;
 
 import com.restaurant.food.controller.dto.FoodRequest;
 import com.restaurant.food.service.dto.Food;
+import com.restaurant.food.service.dto.FoodKey;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface FoodService {
 
@@ -14,6 +17,10 @@ public interface FoodService {
 
     List<Food> getFoodByCategoryId(Long categoryId);
 
+    List<Food> getAll();
+
+    List<Food> search(String query, int limit);
+
     void deleteById(Long foodId);
 
     Optional<Food> update(Food food);
@@ -24,5 +31,9 @@ public interface FoodService {
 
     Optional<Food> getFoodByNameAndPrice(String foodName, Double foodPrice);
 
+    Map<FoodKey, Food> getFoodByKeys(Set<FoodKey> foodKeys);
+
+    Map<Long, Food> getFoodByIds(Set<Long> foodIds);
+
     void deleteByCategoryId(Long categoryId);
 }
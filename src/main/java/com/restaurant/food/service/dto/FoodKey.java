@@ -0,0 +1,7 @@
+package com.restaurant.food.service.dto;
+
+public record FoodKey(
+        String foodName,
+        Long foodPriceCents
+) {
+}
@@ -0,0 +1,53 @@
+package com.restaurant.menu.controller;
+
+import com.restaurant.common.MenuCache;
+import com.restaurant.common.MenuPayloadCache;
+import com.restaurant.menu.service.MenuService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/menu")
+public class MenuController {
+
+    private static final MenuControllerMapper menuControllerMapper = MenuControllerMapper.INSTANCE;
+
+    private static final String MENU_PAYLOAD = "menu";
+
+    private final MenuService menuService;
+
+    private final MenuCache menuCache;
+
+    private final MenuPayloadCache menuPayloadCache;
+
+    public MenuController(MenuService menuService, MenuCache menuCache, MenuPayloadCache menuPayloadCache) {
+        this.menuService = menuService;
+        this.menuCache = menuCache;
+        this.menuPayloadCache = menuPayloadCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> getMenu(
+            @RequestParam(value = "since-version", required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (menuCache.isNotModified(ifNoneMatch)) {
+            return menuPayloadCache.notModified();
+        }
+
+        if (sinceVersion != null) {
+            return menuPayloadCache.ok(menuControllerMapper.menuToMenuResponse(
+                    menuService.getMenu(Optional.of(sinceVersion))));
+        }
+
+        return menuPayloadCache.ok(MENU_PAYLOAD, acceptEncoding, () -> menuControllerMapper.menuToMenuResponse(
+                menuService.getMenu(Optional.empty())));
+    }
+}
@@ -0,0 +1,26 @@
+package com.restaurant.menu.controller;
+
+import com.restaurant.food.controller.dto.FoodResponse;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.menu.controller.dto.MenuCategoryResponse;
+import com.restaurant.menu.controller.dto.MenuResponse;
+import com.restaurant.menu.service.dto.Menu;
+import com.restaurant.menu.service.dto.MenuCategory;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper
+public interface MenuControllerMapper {
+
+    MenuControllerMapper INSTANCE = Mappers.getMapper(MenuControllerMapper.class);
+
+    MenuResponse menuToMenuResponse(Menu menu);
+
+    List<MenuCategoryResponse> menuCategoriesToMenuCategoryResponses(List<MenuCategory> menuCategories);
+
+    MenuCategoryResponse menuCategoryToMenuCategoryResponse(MenuCategory menuCategory);
+
+    FoodResponse foodToFoodResponse(Food food);
+}
@@ -0,0 +1,13 @@
+package com.restaurant.menu.controller.dto;
+
+import com.restaurant.food.controller.dto.FoodResponse;
+
+import java.util.List;
+
+public record MenuCategoryResponse(
+        Long categoryId,
+        Long positionId,
+        String categoryName,
+        List<FoodResponse> food
+) {
+}
@@ -0,0 +1,10 @@
+package com.restaurant.menu.controller.dto;
+
+import java.util.List;
+
+public record MenuResponse(
+        Long version,
+        List<MenuCategoryResponse> categories,
+        List<Long> removedCategoryIds
+) {
+}
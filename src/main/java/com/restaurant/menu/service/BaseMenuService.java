@@ -0,0 +1,70 @@
+package com.restaurant.menu.service;
+
+import com.restaurant.category.service.CategoryService;
+import com.restaurant.category.service.dto.Category;
+import com.restaurant.common.MenuCache;
+import com.restaurant.food.service.FoodService;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.menu.service.dto.Menu;
+import com.restaurant.menu.service.dto.MenuCategory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyList;
+
+public class BaseMenuService implements MenuService {
+
+    private final CategoryService categoryService;
+
+    private final FoodService foodService;
+
+    private final MenuCache menuCache;
+
+    public BaseMenuService(CategoryService categoryService, FoodService foodService, MenuCache menuCache) {
+        this.categoryService = categoryService;
+        this.foodService = foodService;
+        this.menuCache = menuCache;
+    }
+
+    @Override
+    public Menu getMenu(Optional<Long> sinceVersion) {
+        var version = menuCache.getVersion();
+        var changedCategoryIds = sinceVersion.flatMap(menuCache::getCategoriesChangedSince);
+        var categories = categoryService.getAll();
+        var food = foodService.getAll().stream()
+                .collect(Collectors.groupingBy(Food::categoryId));
+
+        var menuCategories = categories.stream()
+                .filter(category -> changedCategoryIds.map(ids -> ids.contains(category.categoryId())).orElse(true))
+                .sorted(Comparator.comparing(Category::positionId))
+                .map(category -> new MenuCategory(
+                        category.categoryId(),
+                        category.positionId(),
+                        category.categoryName(),
+                        food.getOrDefault(category.categoryId(), emptyList()).stream()
+                                .sorted(Comparator.comparing(Food::positionId))
+                                .toList()))
+                .toList();
+
+        return new Menu(version, menuCategories, getRemovedCategoryIds(changedCategoryIds, categories));
+    }
+
+    private List<Long> getRemovedCategoryIds(Optional<Set<Long>> changedCategoryIds,
+                                              List<Category> categories) {
+        var categoryIds = categories.stream()
+                .map(Category::categoryId)
+                .collect(Collectors.toSet());
+
+        return changedCategoryIds
+                .map(ids -> ids.stream()
+                        .filter(Predicate.not(categoryIds::contains))
+                        .sorted()
+                        .toList())
+                .orElse(emptyList());
+    }
+}
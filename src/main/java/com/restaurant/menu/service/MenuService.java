@@ -0,0 +1,10 @@
+package com.restaurant.menu.service;
+
+import com.restaurant.menu.service.dto.Menu;
+
+import java.util.Optional;
+
+public interface MenuService {
+
+    Menu getMenu(Optional<Long> sinceVersion);
+}
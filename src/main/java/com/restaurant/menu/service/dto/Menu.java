@@ -0,0 +1,10 @@
+package com.restaurant.menu.service.dto;
+
+import java.util.List;
+
+public record Menu(
+        Long version,
+        List<MenuCategory> categories,
+        List<Long> removedCategoryIds
+) {
+}
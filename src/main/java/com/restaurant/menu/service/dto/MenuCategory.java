@@ -0,0 +1,13 @@
+package com.restaurant.menu.service.dto;
+
+import com.restaurant.food.service.dto.Food;
+
+import java.util.List;
+
+public record MenuCategory(
+        Long categoryId,
+        Long positionId,
+        String categoryName,
+        List<Food> food
+) {
+}
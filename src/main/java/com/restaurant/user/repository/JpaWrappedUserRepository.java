@@ -85,10 +85,8 @@ public class JpaWrappedUserRepository implements UserRepository {
     }
 
     @Override
-    public void payForOrder(Long userId, Double cartValue) {
-        userJpaRepository.findById(userId)
-                .map(user -> deleteFromBalance(cartValue, user))
-                .map(userJpaRepository::save);
+    public boolean payForOrder(Long userId, Double cartValue) {
+        return userJpaRepository.debit(userId, cartValue) > 0;
     }
 
     @Override
@@ -108,12 +106,6 @@ public class JpaWrappedUserRepository implements UserRepository {
         return userJpaRepository.existsByEmail(email);
     }
 
-    private UserEntity deleteFromBalance(Double cartValue, UserEntity userEntity) {
-        var money = userEntity.getMoney();
-        userEntity.setMoney(ConstantValues.my_format(money - cartValue));
-        return userEntity;
-    }
-
     private UserEntity updateBalance(Double money, UserEntity userEntity) {
         var balance = userEntity.getMoney();
         userEntity.setMoney(ConstantValues.my_format(balance + money));
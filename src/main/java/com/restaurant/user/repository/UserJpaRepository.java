@@ -1,6 +1,10 @@
 package com.restaurant.user.repository;
 
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +13,9 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
     boolean existsByEmail(String email);
 
     Optional<UserEntity> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("update UserEntity u set u.money = u.money - :amount where u.userId = :userId and u.money >= :amount")
+    int debit(@Param("userId") Long userId, @Param("amount") Double amount);
 }
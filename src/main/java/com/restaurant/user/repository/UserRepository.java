@@ -12,7 +12,7 @@ public interface UserRepository {
 
     Optional<UserModel> findByEmail(String email);
 
-    void payForOrder(Long userId, Double cartValue);
+    boolean payForOrder(Long userId, Double cartValue);
 
     List<UserModel> findAll();
 
@@ -167,8 +167,8 @@ public class BaseUserService implements UserService {
     }
 
     @Override
-    public void completeOrder(Long userId, Double cartValue) {
-        userRepository.payForOrder(userId, cartValue);
+    public boolean completeOrder(Long userId, Double cartValue) {
+        return userRepository.payForOrder(userId, cartValue);
     }
 
     @Override
@@ -41,7 +41,7 @@ public interface UserService {
 
     boolean isValidEmail(String email);
 
-    void completeOrder(Long userId, Double cartValue);
+    boolean completeOrder(Long userId, Double cartValue);
 
     void updateUserBalance(Long userId, UserMoney userMoney);
 }
@@ -1,14 +1,27 @@
 package configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.common.IdempotencyCache;
+import com.restaurant.common.MenuCache;
+import com.restaurant.common.MenuPayloadCache;
+import com.restaurant.menu.service.BaseMenuService;
+import com.restaurant.menu.service.MenuService;
 import com.restaurant.cart.repository.delivered.CartDeliveredJpaRepository;
 import com.restaurant.cart.repository.delivered.CartDeliveredRepository;
 import com.restaurant.cart.repository.delivered.JpaWrappedCartDeliveredRepository;
+import com.restaurant.cart.repository.statistic.ColumnarStatisticRepository;
+import com.restaurant.cart.repository.statistic.JpaWrappedStatisticRepository;
+import com.restaurant.cart.repository.statistic.OrderDailyJpaRepository;
+import com.restaurant.cart.repository.statistic.SoldFoodDailyJpaRepository;
+import com.restaurant.cart.repository.statistic.StatisticRepository;
+import com.restaurant.cart.repository.statistic.UserSpendJpaRepository;
 import com.restaurant.cart.service.delivered.BaseCartDeliveredService;
 import com.restaurant.cart.service.delivered.CartDeliveredService;
 import com.restaurant.category.repository.CategoryJpaRepository;
 import com.restaurant.category.repository.CategoryRepository;
 import com.restaurant.category.repository.JpaWrappedCategoryRepository;
 import com.restaurant.category.service.BaseCategoryService;
+import com.restaurant.category.service.CachingCategoryService;
 import com.restaurant.category.service.CategoryService;
 import com.restaurant.contact.repository.ContactJpaRepository;
 import com.restaurant.contact.repository.ContactRepository;
@@ -19,6 +32,8 @@ import com.restaurant.food.repository.FoodJpaRepository;
 import com.restaurant.food.repository.FoodRepository;
 import com.restaurant.food.repository.JpaWrappedFoodRepository;
 import com.restaurant.food.service.BaseFoodService;
+import com.restaurant.food.service.CachingFoodService;
+import com.restaurant.food.service.FoodSearchIndex;
 import com.restaurant.food.service.FoodService;
 import com.restaurant.jwt.repository.JpaWrappedJwtRepository;
 import com.restaurant.jwt.repository.JwtJpaRepository;
@@ -26,27 +41,48 @@ import com.restaurant.jwt.repository.JwtRepository;
 import com.restaurant.jwt.service.BaseJwtService;
 import com.restaurant.jwt.service.JwtService;
 import com.restaurant.cart.repository.current.JpaWrappedCartRepository;
+import com.restaurant.cart.repository.current.WriteBehindCartRepository;
 import com.restaurant.cart.repository.current.CartJpaRepository;
+import com.restaurant.cart.repository.current.CartLineJpaRepository;
 import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.service.current.BaseCartCommandService;
 import com.restaurant.cart.service.current.BaseCartService;
+import com.restaurant.cart.service.current.CartCommandService;
+import com.restaurant.cart.service.current.CartMutationGuard;
+import com.restaurant.cart.service.current.BatchingCartDeliveryPipeline;
+import com.restaurant.cart.service.current.CartDeliveryPipeline;
 import com.restaurant.cart.service.current.CartService;
+import com.restaurant.cart.service.current.DirectCartDeliveryPipeline;
+import com.restaurant.cart.service.current.CartSweeper;
 import com.restaurant.user.repository.JpaWrappedUserRepository;
 import com.restaurant.user.repository.UserJpaRepository;
 import com.restaurant.user.repository.UserRepository;
 import com.restaurant.user.service.BaseUserService;
 import com.restaurant.user.service.UserService;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
-    public CategoryService categoryServiceInterface(CategoryJpaRepository categoryJpaRepository) {
-        return new BaseCategoryService(categoryRepositoryInterface(categoryJpaRepository));
+    public CategoryService categoryServiceInterface(CategoryJpaRepository categoryJpaRepository, MenuCache menuCache) {
+        return new CachingCategoryService(
+                new BaseCategoryService(categoryRepositoryInterface(categoryJpaRepository)), menuCache);
     }
 
     private CategoryRepository categoryRepositoryInterface(CategoryJpaRepository categoryJpaRepository) {
@@ -63,8 +99,10 @@ public class AppConfig {
     }
 
     @Bean
-    public FoodService foodServiceInterface(FoodJpaRepository foodJpaRepository) {
-        return new BaseFoodService(foodRepositoryInterface(foodJpaRepository));
+    public FoodService foodServiceInterface(FoodJpaRepository foodJpaRepository, CategoryService categoryService,
+                                            MenuCache menuCache) {
+        return new CachingFoodService(new BaseFoodService(foodRepositoryInterface(foodJpaRepository),
+                new FoodSearchIndex()), categoryService, menuCache);
     }
 
     private FoodRepository foodRepositoryInterface(FoodJpaRepository foodJpaRepository) {
@@ -96,23 +134,127 @@ public class AppConfig {
 
     @Bean
     public CartDeliveredService cartDeliveredServiceInterface(CartDeliveredJpaRepository cartDeliveredJpaRepository,
-                                                              FoodService foodService, CategoryService categoryService) {
-        return new BaseCartDeliveredService(cartDeliveredRepositoryInterface(cartDeliveredJpaRepository),
+                                                              EntityManager entityManager,
+                                                              SoldFoodDailyJpaRepository soldFoodDailyJpaRepository,
+                                                              OrderDailyJpaRepository orderDailyJpaRepository,
+                                                              UserSpendJpaRepository userSpendJpaRepository,
+                                                              FoodService foodService, CategoryService categoryService,
+                                                              @Value("${analytics.columnar.enabled:false}") boolean columnarEnabled,
+                                                              @Value("${spring.datasource.url}") String datasourceUrl) {
+        return new BaseCartDeliveredService(cartDeliveredRepositoryInterface(cartDeliveredJpaRepository, entityManager),
+                statisticRepositoryInterface(soldFoodDailyJpaRepository, orderDailyJpaRepository, userSpendJpaRepository,
+                        columnarEnabled, datasourceUrl.startsWith("jdbc:postgresql:")),
                 foodService, categoryService);
     }
 
+    @Bean
+    public ApplicationRunner cartInitializer(CartService cartService, CartDeliveredService cartDeliveredService) {
+        return args -> {
+            cartService.migrateLegacyFood();
+            cartDeliveredService.initStatistics();
+        };
+    }
+
+    private StatisticRepository statisticRepositoryInterface(SoldFoodDailyJpaRepository soldFoodDailyJpaRepository,
+                                                             OrderDailyJpaRepository orderDailyJpaRepository,
+                                                             UserSpendJpaRepository userSpendJpaRepository,
+                                                             boolean columnarEnabled, boolean onConflictSupported) {
+        var statisticRepository = new JpaWrappedStatisticRepository(soldFoodDailyJpaRepository, orderDailyJpaRepository,
+                userSpendJpaRepository, onConflictSupported);
+        if (columnarEnabled) {
+            return new ColumnarStatisticRepository(statisticRepository);
+        }
+        return statisticRepository;
+    }
+
     private CartDeliveredRepository cartDeliveredRepositoryInterface(
-            CartDeliveredJpaRepository cartDeliveredJpaRepository) {
-        return new JpaWrappedCartDeliveredRepository(cartDeliveredJpaRepository);
+            CartDeliveredJpaRepository cartDeliveredJpaRepository, EntityManager entityManager) {
+        return new JpaWrappedCartDeliveredRepository(cartDeliveredJpaRepository, entityManager);
+    }
+
+    @Bean
+    public CartService cartServiceInterface(CartRepository cartRepository, CartDeliveredService cartDeliveredService,
+                                            CartMutationGuard cartMutationGuard,
+                                            CartDeliveryPipeline cartDeliveryPipeline,
+                                            PlatformTransactionManager transactionManager) {
+        return new BaseCartService(cartRepository, cartDeliveredService, cartMutationGuard, cartDeliveryPipeline,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    public CartDeliveryPipeline cartDeliveryPipeline(CartRepository cartRepository,
+                                                     CartDeliveredService cartDeliveredService,
+                                                     PlatformTransactionManager transactionManager,
+                                                     @Value("${cart.delivery.batching.enabled:false}") boolean batchingEnabled,
+                                                     @Value("${cart.delivery.queue-capacity:1000}") int queueCapacity,
+                                                     @Value("${cart.delivery.batch-size:100}") int batchSize) {
+        if (batchingEnabled) {
+            var transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            return new BatchingCartDeliveryPipeline(cartRepository, cartDeliveredService, transactionTemplate,
+                    queueCapacity, batchSize);
+        }
+        return new DirectCartDeliveryPipeline(cartRepository, cartDeliveredService);
     }
 
     @Bean
-    public CartService cartServiceInterface(CartJpaRepository cartJpaRepository,
-                                            CartDeliveredService cartDeliveredService) {
-        return new BaseCartService(cartRepositoryInterface(cartJpaRepository), cartDeliveredService);
+    public CartCommandService cartCommandServiceInterface(CartRepository cartRepository,
+                                                          UserService userService, FoodService foodService,
+                                                          PlatformTransactionManager transactionManager,
+                                                          CartMutationGuard cartMutationGuard) {
+        return new BaseCartCommandService(cartRepository, userService, foodService,
+                new TransactionTemplate(transactionManager), cartMutationGuard);
     }
 
-    private CartRepository cartRepositoryInterface(CartJpaRepository cartJpaRepository) {
-        return new JpaWrappedCartRepository(cartJpaRepository);
+    @Bean
+    public CartMutationGuard cartMutationGuard() {
+        return new CartMutationGuard();
+    }
+
+    @Bean
+    public CartSweeper cartSweeper(CartRepository cartRepository, PlatformTransactionManager transactionManager,
+                                   @Value("${cart.sweeper.idle-timeout-hours:24}") long idleTimeoutHours,
+                                   @Value("${cart.sweeper.chunk-size:500}") int chunkSize) {
+        return new CartSweeper(cartRepository, new TransactionTemplate(transactionManager), Clock.systemUTC(),
+                Duration.ofHours(idleTimeoutHours), chunkSize);
+    }
+
+    @Bean
+    public MenuService menuServiceInterface(CategoryService categoryService, FoodService foodService,
+                                            MenuCache menuCache) {
+        return new BaseMenuService(categoryService, foodService, menuCache);
+    }
+
+    @Bean
+    public MenuCache menuCache() {
+        return new MenuCache(Clock.systemUTC().millis());
+    }
+
+    @Bean
+    public MenuPayloadCache menuPayloadCache(MenuCache menuCache, ObjectMapper objectMapper,
+                                             @Value("${menu.serialized-responses.enabled:true}") boolean enabled,
+                                             @Value("${menu.serialized-responses.gzip:true}") boolean gzipEnabled) {
+        return new MenuPayloadCache(menuCache, objectMapper, enabled, gzipEnabled);
+    }
+
+    @Bean
+    public IdempotencyCache idempotencyCache(@Value("${idempotency.cache.max-size:10000}") int maxSize,
+                                             @Value("${idempotency.cache.ttl-seconds:86400}") long ttlSeconds) {
+        return new IdempotencyCache(maxSize, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    @Bean
+    public CartRepository cartRepositoryInterface(CartJpaRepository cartJpaRepository,
+                                                  CartLineJpaRepository cartLineJpaRepository,
+                                                  PlatformTransactionManager transactionManager,
+                                                  @Value("${cart.write-behind.enabled:false}") boolean writeBehindEnabled,
+                                                  @Value("${cart.write-behind.log-directory:cart-log}") String logDirectory,
+                                                  @Value("${cart.write-behind.flush-interval-ms:1000}") long flushIntervalMillis) {
+        var cartRepository = new JpaWrappedCartRepository(cartJpaRepository, cartLineJpaRepository);
+        if (writeBehindEnabled) {
+            return new WriteBehindCartRepository(cartRepository, new TransactionTemplate(transactionManager),
+                    Path.of(logDirectory), flushIntervalMillis);
+        }
+        return cartRepository;
     }
 }
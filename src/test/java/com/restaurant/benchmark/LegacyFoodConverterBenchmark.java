@@ -0,0 +1,78 @@
+package com.restaurant.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.cart.repository.converter.FoodNameConverter;
+import com.restaurant.cart.repository.converter.FoodPriceConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LegacyFoodConverterBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final FoodNameConverter foodNameConverter = new FoodNameConverter();
+
+    private static final FoodPriceConverter foodPriceConverter = new FoodPriceConverter();
+
+    @Param({"3", "30"})
+    private int itemsCount;
+
+    private String food;
+
+    private String foodPrice;
+
+    @Setup
+    public void setUp() {
+        food = foodNameConverter.convertToDatabaseColumn(IntStream.range(0, itemsCount)
+                .mapToObj(i -> "food" + i)
+                .toList());
+        foodPrice = foodPriceConverter.convertToDatabaseColumn(IntStream.range(0, itemsCount)
+                .mapToObj(i -> 5D + i)
+                .toList());
+    }
+
+    @Benchmark
+    public int newTypeReferencePerRead() throws JsonProcessingException {
+        List<String> names = OBJECT_MAPPER.readValue(food, new TypeReference<>() {
+        });
+        List<Double> prices = OBJECT_MAPPER.readValue(foodPrice, new TypeReference<>() {
+        });
+        return names.size() + prices.size();
+    }
+
+    @Benchmark
+    public int sharedReader() {
+        return foodNameConverter.convertToEntityAttribute(food).size()
+                + foodPriceConverter.convertToEntityAttribute(foodPrice).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LegacyFoodConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
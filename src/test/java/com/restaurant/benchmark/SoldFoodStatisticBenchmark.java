@@ -0,0 +1,109 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.ColumnarStatisticRepository;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SoldFoodStatisticBenchmark {
+
+    private static final int FOOD_COUNT = 200;
+
+    @Param("1000000")
+    private int ordersCount;
+
+    private List<CartDeliveredModel> orders;
+
+    private ColumnarStatisticRepository columnarStatisticRepository;
+
+    private ZonedDateTime afterDate;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var now = ZonedDateTime.now();
+        afterDate = now.minusDays(30);
+        orders = new ArrayList<>(ordersCount);
+        columnarStatisticRepository = new ColumnarStatisticRepository(null);
+
+        for (long cartId = 0; cartId < ordersCount; cartId++) {
+            var lines = new ArrayList<CartLineModel>();
+            var cartValue = 0D;
+            for (int line = random.nextInt(3) + 1; line > 0; line--) {
+                var food = random.nextInt(FOOD_COUNT);
+                var quantity = random.nextInt(3) + 1;
+                lines.add(new CartLineModel((long) food, "food" + food, 5D + food, quantity));
+                cartValue += (5D + food) * quantity;
+            }
+            var order = new CartDeliveredModel(cartId, cartId % 1000, false, cartValue, List.of(), List.of(),
+                    now.minusMinutes(random.nextInt(60 * 24 * 90)), lines);
+            orders.add(order);
+            columnarStatisticRepository.addToSnapshot(order);
+        }
+    }
+
+    @Benchmark
+    public Map<AbstractMap.SimpleEntry<String, Double>, Long> legacySoldFood() {
+        return orders.stream()
+                .filter(order -> order.orderDate().isAfter(afterDate))
+                .flatMap(order -> order.lines().stream())
+                .collect(Collectors.groupingBy(
+                        line -> new AbstractMap.SimpleEntry<>(line.foodName(), line.foodPrice()),
+                        Collectors.summingLong(CartLineModel::quantity)));
+    }
+
+    // the columns filter on whole days, so they skip at most the part of one day the legacy filter still counts,
+    // and both still scan every order of the ninety days
+    @Benchmark
+    public List<SoldFoodStatisticModel> columnarSoldFood() {
+        return columnarStatisticRepository.findSoldFoodAfter(afterDate.toLocalDate());
+    }
+
+    @Benchmark
+    public Double legacyOrdersValue() {
+        return orders.stream()
+                .filter(order -> order.orderDate().isAfter(afterDate))
+                .mapToDouble(CartDeliveredModel::cartValue)
+                .sum();
+    }
+
+    @Benchmark
+    public Double columnarOrdersValue() {
+        return columnarStatisticRepository.sumOrdersValueAfter(afterDate.toLocalDate());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SoldFoodStatisticBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.restaurant.controllers;
+
+import com.restaurant.common.GlobalExceptionHandler;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Should return conflict when position constraint is violated")
+    void shouldReturnConflictWhenPositionConstraintIsViolated() {
+        //given
+        var postgresViolation = getViolation("uk_category_position");
+        var h2Violation = getViolation("\"PUBLIC.UK_FOOD_CATEGORY_POSITION_INDEX_A ON PUBLIC.FOOD_ENTITY(CATEGORY_ID)\"");
+
+        //when
+        var postgresResponse = globalExceptionHandler.handleDataIntegrityViolationException(postgresViolation);
+        var h2Response = globalExceptionHandler.handleDataIntegrityViolationException(h2Violation);
+
+        //then
+        assertEquals(CONFLICT, postgresResponse.getStatusCode());
+        assertEquals(CONFLICT, h2Response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should return internal server error when other constraint is violated")
+    void shouldReturnInternalServerErrorWhenOtherConstraintIsViolated() {
+        //given
+        var otherViolation = getViolation("fk_food_category");
+        var unnamedViolation = new DataIntegrityViolationException("uk_category_position");
+
+        //when
+        var otherResponse = globalExceptionHandler.handleDataIntegrityViolationException(otherViolation);
+        var unnamedResponse = globalExceptionHandler.handleDataIntegrityViolationException(unnamedViolation);
+
+        //then
+        assertEquals(INTERNAL_SERVER_ERROR, otherResponse.getStatusCode());
+        assertEquals(INTERNAL_SERVER_ERROR, unnamedResponse.getStatusCode());
+    }
+
+    private DataIntegrityViolationException getViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+}
@@ -47,11 +47,12 @@ public class TestUseCase {
 
     private String adminToken;
 
-    private static final String USER_EMAIL = "mariuszek@user.pl";
+    protected static final String USER_EMAIL = "mariuszek@user.pl";
     private static final String USER_PASSWORD = "user";
     protected static final Double USER_BALANCE = 20D;
     protected static final Long USER_ID = 2L;
-    private static final String ADMIN_EMAIL = "pro8l@admin.pl";
+    protected static final Long ADMIN_ID = 1L;
+    protected static final String ADMIN_EMAIL = "pro8l@admin.pl";
     private static final String ADMIN_PASSWORD = "admin";
 
     protected static final String BASE_URL = "http://localhost:%d%s";
@@ -82,6 +83,7 @@ public class TestUseCase {
     protected static final String ORDER_PATH = "/order";
     protected static final String FOOD_NAME = "French fries";
     protected static final String CART_PATH = "/cart/order";
+    protected static final String ORDERS_RESOURCE = "/orders";
 
 
     protected CategoryRequestResponse saveCategory(String categoryName, Long positionId) {
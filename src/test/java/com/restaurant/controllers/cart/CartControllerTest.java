@@ -1,11 +1,50 @@
 package com.restaurant.controllers.cart;
 
 import com.restaurant.cart.controller.dto.CartDeliveredResponse;
+import com.restaurant.cart.controller.dto.CartItemRequest;
+import com.restaurant.cart.controller.dto.CartItemsRequest;
 import com.restaurant.cart.controller.dto.CartResponse;
+import com.restaurant.cart.controller.dto.CartStatisticResponse;
+import com.restaurant.cart.controller.dto.OrderDate;
+import com.restaurant.cart.controller.dto.OrderSeriesResponse;
+import com.restaurant.cart.controller.dto.TopSoldFoodResponse;
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.service.current.BatchingCartDeliveryPipeline;
+import com.restaurant.cart.service.current.CartCommandService;
+import com.restaurant.cart.service.current.CartService;
+import com.restaurant.cart.service.current.CartSweeper;
+import com.restaurant.cart.service.current.dto.AddFoodStatus;
+import com.restaurant.cart.service.delivered.CartDeliveredService;
+import com.restaurant.common.Status;
 import com.restaurant.controllers.TestUseCase;
+import com.restaurant.food.service.FoodService;
+import com.restaurant.user.controller.dto.UserMoney;
+import com.restaurant.user.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.restaurant.common.ConstantValues.DISCOUNT;
+import static com.restaurant.common.ConstantValues.IDEMPOTENCY_KEY_HEADER;
+import static com.restaurant.common.ConstantValues.MAX_PAGE_SIZE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.http.HttpMethod.DELETE;
@@ -14,6 +53,36 @@ import static org.springframework.http.HttpStatus.*;
 
 class CartControllerTest extends TestUseCase {
 
+    private static final long ADD_TO_CART_STATEMENT_BUDGET = 4L;
+
+    private static final int CONCURRENT_REQUESTS = 4;
+
+    private static final int ADDS_PER_REQUEST = 5;
+
+    @Autowired
+    private CartCommandService cartCommandService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartDeliveredService cartDeliveredService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     @DisplayName("Should add to order with discount and return 200 OK")
     void shouldAddToOrderAndReturnOk() {
@@ -38,6 +107,271 @@ class CartControllerTest extends TestUseCase {
         assertThat(orderResponse.getBody().food().get(0), is(equalTo(FOOD_NAME)));
     }
 
+    @Test
+    @DisplayName("Should add to order within statement budget")
+    void shouldAddToOrderWithinStatementBudget() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        foodService.getFoodByCategoryId(savedFood.categoryId());
+
+        //when
+        statistics.clear();
+        var firstResult = cartCommandService.addFoodToCart(USER_EMAIL, savedFood.categoryId(), savedFood.foodId());
+        var firstAddStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        var secondResult = cartCommandService.addFoodToCart(USER_EMAIL, savedFood.categoryId(), savedFood.foodId());
+        var secondAddStatements = statistics.getPrepareStatementCount();
+
+        //then
+        assertThat(firstResult.status(), is(equalTo(AddFoodStatus.ADDED)));
+        assertThat(secondResult.status(), is(equalTo(AddFoodStatus.ADDED)));
+        assertThat(secondResult.cart().food(), is(equalTo(List.of(FOOD_NAME, FOOD_NAME))));
+        assertThat(firstAddStatements, is(lessThanOrEqualTo(ADD_TO_CART_STATEMENT_BUDGET)));
+        assertThat(secondAddStatements, is(lessThanOrEqualTo(ADD_TO_CART_STATEMENT_BUDGET)));
+    }
+
+    @Test
+    @DisplayName("Should add to order once when request is retried with the same idempotency key")
+    void shouldAddToOrderOnceWhenRetriedWithSameIdempotencyKey() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var headers = new HttpHeaders();
+        headers.set(IDEMPOTENCY_KEY_HEADER, "add-beer-1");
+
+        runAsUser();
+        //when
+        var firstResponse = client.exchange(
+                prepareOrderUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()),
+                PUT,
+                new HttpEntity<>(headers),
+                CartResponse.class
+        );
+        var retriedResponse = client.exchange(
+                prepareOrderUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()),
+                PUT,
+                new HttpEntity<>(headers),
+                CartResponse.class
+        );
+
+        //then
+        assertThat(firstResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(retriedResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(retriedResponse.getBody(), is(equalTo(firstResponse.getBody())));
+        assertThat(cartService.getCart(USER_ID).get().food(), is(equalTo(List.of(FOOD_NAME))));
+    }
+
+    @Test
+    @DisplayName("Should run request again when retried with the same idempotency key after an error")
+    void shouldRunRequestAgainWhenRetriedWithSameIdempotencyKeyAfterError() {
+        //given
+        var foodPrice = 40D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var headers = new HttpHeaders();
+        headers.set(IDEMPOTENCY_KEY_HEADER, "add-steak-1");
+
+        runAsUser();
+        //when
+        var firstResponse = client.exchange(
+                prepareOrderUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()),
+                PUT,
+                new HttpEntity<>(headers),
+                CartResponse.class
+        );
+        userService.updateUserBalance(USER_ID, new UserMoney(foodPrice));
+        var retriedResponse = client.exchange(
+                prepareOrderUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()),
+                PUT,
+                new HttpEntity<>(headers),
+                CartResponse.class
+        );
+
+        //then
+        assertThat(firstResponse.getStatusCode(), is(equalTo(PAYMENT_REQUIRED)));
+        assertThat(retriedResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(cartService.getCart(USER_ID).get().food(), is(equalTo(List.of(FOOD_NAME))));
+    }
+
+    @Test
+    @DisplayName("Should not replay response when idempotency key is reused with different items")
+    void shouldNotReplayResponseWhenIdempotencyKeyIsReusedWithDifferentItems() {
+        //given
+        var foodPrice = 2D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var headers = new HttpHeaders();
+        headers.set(IDEMPOTENCY_KEY_HEADER, "add-items-1");
+
+        runAsUser();
+        //when
+        var firstResponse = client.exchange(
+                prepareUrl(FOOD_RESOURCE + ORDER_PATH),
+                PUT,
+                new HttpEntity<>(new CartItemsRequest(List.of(
+                        new CartItemRequest(savedFood.categoryId(), savedFood.foodId(), 1))), headers),
+                CartResponse.class
+        );
+        var secondResponse = client.exchange(
+                prepareUrl(FOOD_RESOURCE + ORDER_PATH),
+                PUT,
+                new HttpEntity<>(new CartItemsRequest(List.of(
+                        new CartItemRequest(savedFood.categoryId(), savedFood.foodId(), 2))), headers),
+                CartResponse.class
+        );
+
+        //then
+        assertThat(firstResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(secondResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(secondResponse.getBody().food(), is(equalTo(List.of(FOOD_NAME, FOOD_NAME, FOOD_NAME))));
+    }
+
+    @Test
+    @DisplayName("Should add items with quantities to order and return 200 OK")
+    void shouldAddItemsToOrderAndReturnOk() {
+        //given
+        var foodPrice = 10D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var cartItemsRequest = new CartItemsRequest(List.of(
+                new CartItemRequest(savedFood.categoryId(), savedFood.foodId(), 3)
+        ));
+
+        runAsAdmin();
+        //when
+        var orderResponse = client.exchange(
+                prepareUrl(FOOD_RESOURCE + ORDER_PATH),
+                PUT,
+                createBody(cartItemsRequest),
+                CartResponse.class
+        );
+
+        //then
+        assertThat(orderResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(orderResponse.getBody(), is(notNullValue()));
+        assertThat(orderResponse.getBody().food(), is(equalTo(List.of(FOOD_NAME, FOOD_NAME, FOOD_NAME))));
+        assertThat(orderResponse.getBody().cartValue(),
+                is(equalTo(valueWithDiscount(foodPrice) + 2 * (foodPrice - foodPrice * DISCOUNT))));
+    }
+
+    @Test
+    @DisplayName("Should not add items with invalid quantity to order and return 400 BAD REQUEST")
+    void shouldNotAddItemsToOrderByInvalidQuantityAndReturnBadRequest() {
+        //given
+        var foodPrice = 10D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var cartItemsRequest = new CartItemsRequest(List.of(
+                new CartItemRequest(savedFood.categoryId(), savedFood.foodId(), 0)
+        ));
+
+        runAsAdmin();
+        //when
+        var orderResponse = client.exchange(
+                prepareUrl(FOOD_RESOURCE + ORDER_PATH),
+                PUT,
+                createBody(cartItemsRequest),
+                CartResponse.class
+        );
+
+        //then
+        assertThat(orderResponse.getStatusCode(), is(equalTo(BAD_REQUEST)));
+    }
+
+    @Test
+    @DisplayName("Should not lose food added to the same cart concurrently")
+    void shouldNotLoseFoodAddedToSameCartConcurrently() throws Exception {
+        //given
+        var foodPrice = 0.5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        var executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        var start = new CountDownLatch(1);
+        List<Future<List<AddFoodStatus>>> requests = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(executor.submit(() -> {
+                start.await();
+                List<AddFoodStatus> statuses = new ArrayList<>();
+                for (int j = 0; j < ADDS_PER_REQUEST; j++) {
+                    statuses.add(cartCommandService.addFoodToCart(
+                            USER_EMAIL, savedFood.categoryId(), savedFood.foodId()).status());
+                }
+                return statuses;
+            }));
+        }
+        start.countDown();
+
+        List<AddFoodStatus> statuses = new ArrayList<>();
+        for (var request : requests) {
+            statuses.addAll(request.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+        var cart = cartService.getCart(USER_ID);
+
+        //then
+        var adds = CONCURRENT_REQUESTS * ADDS_PER_REQUEST;
+        assertThat(statuses, everyItem(is(equalTo(AddFoodStatus.ADDED))));
+        assertThat(cart.isPresent(), is(true));
+        assertThat(cart.get().food(), hasSize(adds));
+        assertThat(cart.get().cartValue(), is(equalTo(valueWithDelivery(foodPrice * adds))));
+    }
+
+    @Test
+    @DisplayName("Should remove idle orders in chunks")
+    void shouldRemoveIdleOrdersInChunks() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+        cartCommandService.addFoodToCart(USER_EMAIL, savedFood.categoryId(), savedFood.foodId());
+        cartCommandService.addFoodToCart(ADMIN_EMAIL, savedFood.categoryId(), savedFood.foodId());
+        var cartSweeper = new CartSweeper(cartRepository, new TransactionTemplate(transactionManager),
+                Clock.offset(Clock.systemUTC(), Duration.ofDays(2)), Duration.ofHours(24), 1);
+
+        //when
+        var removed = cartSweeper.deleteIdleCarts();
+
+        //then
+        assertThat(removed, is(equalTo(2)));
+        assertThat(cartService.getCart(USER_ID).isPresent(), is(false));
+        assertThat(cartService.getCart(ADMIN_ID).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Should save batched deliveries with their lines")
+    void shouldSaveBatchedDeliveriesWithTheirLines() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(USER_ID), PUT, null, CartResponse.class);
+
+        runAsAdmin();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(ADMIN_ID), PUT, null, CartResponse.class);
+
+        var cartDeliveryPipeline = new BatchingCartDeliveryPipeline(cartRepository, cartDeliveredService,
+                new TransactionTemplate(transactionManager), 10, 10);
+
+        //when
+        cartDeliveryPipeline.deliver(cartRepository.findCartByUserId(USER_ID).orElseThrow());
+        cartDeliveryPipeline.deliver(cartRepository.findCartByUserId(ADMIN_ID).orElseThrow());
+        cartDeliveryPipeline.close();
+
+        //then
+        var userOrders = cartService.getDeliveredCartPage(USER_ID, null, MAX_PAGE_SIZE).orElseThrow().carts();
+        assertThat(cartService.getOrderStatus(USER_ID), is(equalTo(Status.EMPTY_ORDER)));
+        assertThat(cartService.getOrderStatus(ADMIN_ID), is(equalTo(Status.EMPTY_ORDER)));
+        assertThat(userOrders, hasSize(1));
+        assertThat(userOrders.get(0).food(), contains(FOOD_NAME, FOOD_NAME));
+        assertThat(userOrders.get(0).cartValue(), is(equalTo(valueWithDelivery(foodPrice * 2))));
+        assertThat(cartService.getDeliveredCartPage(ADMIN_ID, null, MAX_PAGE_SIZE).orElseThrow().carts(), hasSize(1));
+        assertThat(cartService.getOverallCartValue(USER_ID), is(equalTo(valueWithDelivery(foodPrice * 2))));
+    }
+
     @Test
     @DisplayName("Should not add to order by wrong foodId and return 404 NOT FOUND")
     void shouldNotAddToOrderByWrongFoodIdAndReturnNotFound() {
@@ -135,6 +469,32 @@ class CartControllerTest extends TestUseCase {
         assertThat(orderResponse.getStatusCode(), is(equalTo(OK)));
     }
 
+    @Test
+    @DisplayName("Should decrement quantity of repeated food when deleting from order")
+    void shouldDecrementQuantityWhenDeletingFromOrder() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+
+        //when
+        var orderResponse = client.postForEntity(
+                prepareOrderUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()),
+                null,
+                Void.class
+        );
+        var cartResponse = client.getForEntity(prepareCartUrlWithUserId(USER_ID), CartResponse.class);
+
+        //then
+        assertThat(orderResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(cartResponse.getBody(), is(notNullValue()));
+        assertThat(cartResponse.getBody().food(), is(equalTo(List.of(FOOD_NAME))));
+        assertThat(cartResponse.getBody().cartValue(), is(equalTo(valueWithDelivery(foodPrice))));
+    }
+
     @Test
     @DisplayName("Should not delete from order by wrong foodId and return 404 NOT FOUND")
     void shouldNotDeleteFromOrderByWrongFoodIdAndReturnNotFound() {
@@ -224,6 +584,34 @@ class CartControllerTest extends TestUseCase {
         assertThat(orderResponse.getBody(), is(notNullValue()));
         assertThat(orderResponse.getBody().foodPrice().get(0), is(equalTo(foodPrice)));
         assertThat(orderResponse.getBody().cartValue(), is(equalTo(valueWithDelivery(foodPrice))));
+        assertThat(cartService.getOrderStatus(USER_ID), is(equalTo(Status.IN_DELIVERY)));
+        assertThat(userService.getUserById(USER_ID).get().money(),
+                is(equalTo(USER_BALANCE - valueWithDelivery(foodPrice))));
+    }
+
+    @Test
+    @DisplayName("Should not confirm order by not enough money and keep cart in order")
+    void shouldNotConfirmOrderByNotEnoughMoneyAndKeepCartInOrder() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        userService.updateUserBalance(USER_ID, new UserMoney(-USER_BALANCE));
+
+        //when
+        var orderResponse = client.exchange(
+                prepareCartUrlWithUserId(USER_ID),
+                PUT,
+                null,
+                CartResponse.class
+        );
+
+        //then
+        assertThat(orderResponse.getStatusCode(), is(equalTo(PAYMENT_REQUIRED)));
+        assertThat(cartService.getOrderStatus(USER_ID), is(equalTo(Status.IN_ORDER)));
+        assertThat(userService.getUserById(USER_ID).get().money(), is(equalTo(0D)));
     }
 
     @Test
@@ -449,4 +837,161 @@ class CartControllerTest extends TestUseCase {
         assertThat(allOrdersResponse.getBody().cartResponses().get(0).foodPrice().get(0), is(equalTo(foodPrice)));
         assertThat(allOrdersResponse.getBody().cartResponses().get(0).cartValue(), is(equalTo(valueWithDelivery(foodPrice))));
     }
+
+    @Test
+    @DisplayName("Should get user orders page by page and return 200 OK")
+    void shouldGetUserOrdersPageByPageAndReturnOK() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsAdmin();
+        for (int i = 0; i < 2; i++) {
+            saveOrder(savedFood.categoryId(), savedFood.foodId());
+            client.exchange(prepareCartUrlWithUserId(ADMIN_ID), PUT, null, CartResponse.class);
+            client.postForEntity(prepareCartUrlWithUserId(ADMIN_ID), null, Void.class);
+        }
+
+        //when
+        var firstPageResponse = client.getForEntity(
+                prepareOrderUrlWithUserId(ADMIN_ID) + "?limit=1",
+                CartDeliveredResponse.class
+        );
+
+        //then
+        assertThat(firstPageResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(firstPageResponse.getBody(), is(notNullValue()));
+        assertThat(firstPageResponse.getBody().cartResponses().size(), is(equalTo(1)));
+        assertThat(firstPageResponse.getBody().nextCursor(), is(notNullValue()));
+
+        //when
+        var secondPageResponse = client.getForEntity(
+                prepareOrderUrlWithUserId(ADMIN_ID) + "?limit=1&cursor=" + firstPageResponse.getBody().nextCursor(),
+                CartDeliveredResponse.class
+        );
+
+        //then
+        assertThat(secondPageResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(secondPageResponse.getBody(), is(notNullValue()));
+        assertThat(secondPageResponse.getBody().cartResponses().size(), is(equalTo(1)));
+        assertThat(secondPageResponse.getBody().nextCursor(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Should get statistics of delivered orders and return 200 OK")
+    void shouldGetStatisticsOfDeliveredOrdersAndReturnOK() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(USER_ID), PUT, null, CartResponse.class);
+        client.postForEntity(prepareCartUrlWithUserId(USER_ID), null, Void.class);
+
+        runAsAdmin();
+
+        //when
+        var statisticResponse = client.postForEntity(
+                prepareUrl(ORDERS_RESOURCE),
+                new OrderDate("month"),
+                CartStatisticResponse.class
+        );
+
+        //then
+        assertThat(statisticResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(statisticResponse.getBody(), is(notNullValue()));
+        assertThat(statisticResponse.getBody().value(), is(equalTo(valueWithDelivery(foodPrice))));
+        assertThat(statisticResponse.getBody().soldFoodSummaries().get(0).foodName(), is(equalTo(FOOD_NAME)));
+        assertThat(statisticResponse.getBody().soldFoodSummaries().get(0).quantitySold(), is(equalTo(1)));
+        assertThat(statisticResponse.getBody().soldFoodSummaries().get(0).totalValue(), is(equalTo(foodPrice)));
+        assertThat(statisticResponse.getBody().soldFoodSummaries().get(0).categoryId(), is(equalTo(savedFood.categoryId())));
+    }
+
+    @Test
+    @DisplayName("Should get top sold food of delivered orders and return 200 OK")
+    void shouldGetTopSoldFoodOfDeliveredOrdersAndReturnOK() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(USER_ID), PUT, null, CartResponse.class);
+        client.postForEntity(prepareCartUrlWithUserId(USER_ID), null, Void.class);
+
+        runAsAdmin();
+
+        //when
+        var topResponse = client.getForEntity(
+                prepareUrl(ORDERS_RESOURCE) + "/top?orderDate=week&ranking=revenue&limit=1",
+                TopSoldFoodResponse.class
+        );
+
+        //then
+        assertThat(topResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(topResponse.getBody(), is(notNullValue()));
+        assertThat(topResponse.getBody().ranking(), is(equalTo("revenue")));
+        assertThat(topResponse.getBody().soldFoodSummaries().size(), is(equalTo(1)));
+        assertThat(topResponse.getBody().soldFoodSummaries().get(0).foodName(), is(equalTo(FOOD_NAME)));
+        assertThat(topResponse.getBody().soldFoodSummaries().get(0).totalValue(), is(equalTo(foodPrice)));
+    }
+
+    @Test
+    @DisplayName("Should export delivered orders as ndjson and return 200 OK")
+    void shouldExportDeliveredOrdersAsNdjsonAndReturnOK() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(USER_ID), PUT, null, CartResponse.class);
+        client.postForEntity(prepareCartUrlWithUserId(USER_ID), null, Void.class);
+
+        runAsAdmin();
+        var today = LocalDate.now();
+
+        //when
+        var exportResponse = client.getForEntity(
+                prepareUrl(ORDERS_RESOURCE) + "/export?from=" + today.minusDays(1) + "&to=" + today + "&format=ndjson",
+                String.class
+        );
+
+        //then
+        assertThat(exportResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(exportResponse.getBody(), is(notNullValue()));
+        assertThat(exportResponse.getBody().lines().count(), is(equalTo(1L)));
+        assertThat(exportResponse.getBody(), containsString("\"foodName\":\"" + FOOD_NAME + "\""));
+    }
+
+    @Test
+    @DisplayName("Should get daily series of delivered orders and return 200 OK")
+    void shouldGetDailySeriesOfDeliveredOrdersAndReturnOK() {
+        //given
+        var foodPrice = 5D;
+        var savedFood = saveCategoryAndFood(foodPrice);
+
+        runAsUser();
+        saveOrder(savedFood.categoryId(), savedFood.foodId());
+        client.exchange(prepareCartUrlWithUserId(USER_ID), PUT, null, CartResponse.class);
+        client.postForEntity(prepareCartUrlWithUserId(USER_ID), null, Void.class);
+
+        runAsAdmin();
+        var from = Instant.now().minus(12, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+        //when
+        var seriesResponse = client.getForEntity(
+                prepareUrl(ORDERS_RESOURCE) + "/series?from=" + from + "&to=" + from.plus(2, ChronoUnit.DAYS) + "&bucket=day",
+                OrderSeriesResponse.class
+        );
+
+        //then
+        assertThat(seriesResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(seriesResponse.getBody(), is(notNullValue()));
+        assertThat(seriesResponse.getBody().points().size(), is(equalTo(2)));
+        assertThat(seriesResponse.getBody().points().get(0).ordersCount(), is(equalTo(1L)));
+        assertThat(seriesResponse.getBody().points().get(0).revenue(), is(equalTo(valueWithDelivery(foodPrice))));
+        assertThat(seriesResponse.getBody().points().get(0).itemsSold(), is(equalTo(1L)));
+    }
 }
@@ -7,9 +7,12 @@ import com.restaurant.category.controller.dto.CategoryResponse;
 import com.restaurant.controllers.TestUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.HttpStatus.*;
 
@@ -44,6 +47,41 @@ class CategoryControllerTestUseCase extends TestUseCase {
         assertThat(getCategoryResponse.getBody().categoryResponses().get(1).categoryId(), is(equalTo(secSavedCategory.categoryId())));
     }
 
+    @Test
+    @DisplayName("Should get categories and return 304 NOT MODIFIED until menu changes")
+    void shouldGetCategoriesAndReturnNotModifiedUntilMenuChanges() {
+        //given
+        saveCategory("Juices", POSITION_ID);
+        var getCategoryResponse = client.getForEntity(prepareUrl(CATEGORY_RESOURCE), CategoryListResponse.class);
+        var eTag = getCategoryResponse.getHeaders().getETag();
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+
+        //when
+        var notModifiedResponse = client.exchange(
+                prepareUrl(CATEGORY_RESOURCE),
+                GET,
+                new HttpEntity<>(headers),
+                CategoryListResponse.class
+        );
+        saveCategory("Soups", 13L);
+        var modifiedResponse = client.exchange(
+                prepareUrl(CATEGORY_RESOURCE),
+                GET,
+                new HttpEntity<>(headers),
+                CategoryListResponse.class
+        );
+
+        //then
+        assertThat(eTag, is(notNullValue()));
+        assertThat(notModifiedResponse.getStatusCode(), is(equalTo(NOT_MODIFIED)));
+        assertThat(notModifiedResponse.getBody(), is(nullValue()));
+        assertThat(modifiedResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(modifiedResponse.getHeaders().getETag(), is(not(equalTo(eTag))));
+        assertThat(modifiedResponse.getBody(), is(notNullValue()));
+        assertThat(modifiedResponse.getBody().categoryResponses().size(), is(equalTo(2)));
+    }
+
     @Test
     @DisplayName("Should get category and return 200 OK")
     void shouldGetCategory() {
@@ -241,6 +279,33 @@ class CategoryControllerTestUseCase extends TestUseCase {
         assertThat(getCategoryResponse.getBody().categoryId(), is(equalTo(savedCategory.categoryId())));
     }
 
+    @Test
+    @DisplayName("Should not update category to taken position and return 409 CONFLICT")
+    void shouldNotUpdateCategoryToTakenPosition() {
+        //given
+        var secPositionId = 4L;
+        saveCategory("Drinks", POSITION_ID);
+        var savedCategory = saveCategory("Salads", secPositionId);
+        var updatedCategory = getUpdatedCategoryRequest(POSITION_ID, "Salads");
+
+        //when
+        var updatedCategoryResponse = client.exchange(
+                prepareCategoryUrlWithCategoryId(savedCategory.categoryId()),
+                PUT,
+                createBody(updatedCategory),
+                CategoryResponse.class
+        );
+        var getCategoryResponse = client.getForEntity(
+                prepareCategoryUrlWithCategoryId(savedCategory.categoryId()),
+                CategoryResponse.class
+        );
+
+        //then
+        assertThat(updatedCategoryResponse.getStatusCode(), equalTo(CONFLICT));
+        assertThat(getCategoryResponse.getBody(), is(notNullValue()));
+        assertThat(getCategoryResponse.getBody().positionId(), is(equalTo(secPositionId)));
+    }
+
     @Test
     @DisplayName("Should not update category by wrong Id and return 404 NOT FOUND")
     void shouldNotUpdateCategoryByWrongId() {
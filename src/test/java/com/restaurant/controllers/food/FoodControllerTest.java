@@ -1,20 +1,30 @@
 package com.restaurant.controllers.food;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurant.food.controller.dto.FoodListResponse;
 import com.restaurant.food.controller.dto.FoodRequestResponse;
 import com.restaurant.food.controller.dto.FoodResponse;
 import com.restaurant.controllers.TestUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
 
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.HttpStatus.*;
 
 class FoodControllerTest extends TestUseCase {
 
+    private static final String FOOD_SEARCH_PATH = FOOD_RESOURCE + "/search?query=%s";
+
     @Test
     @DisplayName("Should add food and return 200 OK")
     void shouldAddFoodAndReturnOk() {
@@ -318,6 +328,125 @@ class FoodControllerTest extends TestUseCase {
         assertThat(foodRequestResponse.getBody().foodResponses().get(1).foodPrice(), is(foodRequest2.foodPrice()));
     }
 
+    @Test
+    @DisplayName("Should get food by categoryId again after food was deleted")
+    void shouldGetFoodByCategoryIdAgainAfterFoodWasDeleted() {
+        //given
+        var savedFood = saveCategoryAndFood(20D);
+        var foodResponse = client.getForEntity(
+                prepareFoodUrlWithCategoryId(savedFood.categoryId()),
+                FoodListResponse.class
+        );
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(foodResponse.getHeaders().getETag());
+
+        //when
+        var notModifiedResponse = client.exchange(
+                prepareFoodUrlWithCategoryId(savedFood.categoryId()),
+                GET,
+                new HttpEntity<>(headers),
+                FoodListResponse.class
+        );
+        client.delete(prepareFoodUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()));
+        var modifiedResponse = client.exchange(
+                prepareFoodUrlWithCategoryId(savedFood.categoryId()),
+                GET,
+                new HttpEntity<>(headers),
+                FoodListResponse.class
+        );
+
+        //then
+        assertThat(foodResponse.getBody(), is(notNullValue()));
+        assertThat(foodResponse.getBody().foodResponses().size(), is(equalTo(1)));
+        assertThat(notModifiedResponse.getStatusCode(), is(equalTo(NOT_MODIFIED)));
+        assertThat(modifiedResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(modifiedResponse.getBody(), is(notNullValue()));
+        assertThat(modifiedResponse.getBody().foodResponses(), is(equalTo(emptyList())));
+    }
+
+    @Test
+    @DisplayName("Should search food by name with typo and return 200 OK")
+    void shouldSearchFoodByNameWithTypoAndReturnOk() {
+        //given
+        var savedFood = saveCategoryAndFood(20D);
+        var secSavedFood = saveFood(savedFood.categoryId(), "Fries with cheese", 25D, 2L);
+
+        //when
+        var typoResponse = client.getForEntity(
+                prepareUrl(CATEGORY_RESOURCE + FOOD_SEARCH_PATH.formatted("frech")),
+                FoodListResponse.class
+        );
+        client.delete(prepareFoodUrlWithFoodIdAndCategoryId(savedFood.categoryId(), savedFood.foodId()));
+        var prefixResponse = client.getForEntity(
+                prepareUrl(CATEGORY_RESOURCE + FOOD_SEARCH_PATH.formatted("fri")),
+                FoodListResponse.class
+        );
+        var blankResponse = client.getForEntity(
+                prepareUrl(CATEGORY_RESOURCE + FOOD_SEARCH_PATH.formatted(" ")),
+                FoodListResponse.class
+        );
+
+        //then
+        assertThat(typoResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(typoResponse.getBody(), is(notNullValue()));
+        assertThat(typoResponse.getBody().foodResponses().get(0).foodId(), is(equalTo(savedFood.foodId())));
+        assertThat(prefixResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(prefixResponse.getBody(), is(notNullValue()));
+        assertThat(prefixResponse.getBody().foodResponses().size(), is(equalTo(1)));
+        assertThat(prefixResponse.getBody().foodResponses().get(0).foodId(), is(equalTo(secSavedFood.foodId())));
+        assertThat(blankResponse.getStatusCode(), is(equalTo(BAD_REQUEST)));
+    }
+
+    @Test
+    @DisplayName("Should get empty food of not existing category and return 200 OK")
+    void shouldGetEmptyFoodOfNotExistingCategoryAndReturnOk() {
+        //given
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        //when
+        var foodResponse = client.exchange(
+                prepareFoodUrlWithCategoryId(Long.MAX_VALUE),
+                GET,
+                new HttpEntity<>(headers),
+                FoodListResponse.class
+        );
+
+        //then
+        assertThat(foodResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(foodResponse.getHeaders().getETag(), is(notNullValue()));
+        assertThat(foodResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+        assertThat(foodResponse.getBody(), is(notNullValue()));
+        assertThat(foodResponse.getBody().foodResponses(), is(equalTo(emptyList())));
+    }
+
+    @Test
+    @DisplayName("Should get gzipped food by categoryId and return 200 OK")
+    void shouldGetGzippedFoodByCategoryIdAndReturnOk() throws IOException {
+        //given
+        var savedFood = saveCategoryAndFood(20D);
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        //when
+        var foodResponse = client.exchange(
+                prepareFoodUrlWithCategoryId(savedFood.categoryId()),
+                GET,
+                new HttpEntity<>(headers),
+                byte[].class
+        );
+
+        //then
+        assertThat(foodResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(foodResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(equalTo("gzip")));
+        assertThat(foodResponse.getBody(), is(notNullValue()));
+        try (var json = new GZIPInputStream(new ByteArrayInputStream(foodResponse.getBody()))) {
+            var foodListResponse = new ObjectMapper().readValue(json, FoodListResponse.class);
+            assertThat(foodListResponse.foodResponses().size(), is(equalTo(1)));
+            assertThat(foodListResponse.foodResponses().get(0).foodName(), is(equalTo(FOOD_NAME)));
+        }
+    }
+
     @Test
     @DisplayName("Should delete food and return 404 NOT FOUND")
     void shouldDeleteFoodAndReturnNotFound() {
@@ -0,0 +1,76 @@
+package com.restaurant.controllers.menu;
+
+import com.restaurant.controllers.TestUseCase;
+import com.restaurant.menu.controller.dto.MenuResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpStatus.OK;
+
+class MenuControllerTest extends TestUseCase {
+
+    private static final String MENU_RESOURCE = "/menu";
+
+    private static final String MENU_SINCE_VERSION_PATH = MENU_RESOURCE + "?since-version=%d";
+
+    @Test
+    @DisplayName("Should get whole menu sorted by position and return 200 OK")
+    void shouldGetWholeMenuSortedByPositionAndReturnOk() {
+        //given
+        var drinks = saveCategory("Drinks", 2L);
+        var soups = saveCategory("Soups", POSITION_ID);
+        saveFood(drinks.categoryId(), "Lemonade", 9D, 2L);
+        saveFood(drinks.categoryId(), "Water", 5D, POSITION_ID);
+
+        //when
+        var menuResponse = client.getForEntity(prepareUrl(MENU_RESOURCE), MenuResponse.class);
+
+        //then
+        assertThat(menuResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(menuResponse.getHeaders().getETag(), is(notNullValue()));
+        assertThat(menuResponse.getBody(), is(notNullValue()));
+        assertThat(menuResponse.getBody().version(), is(notNullValue()));
+        assertThat(menuResponse.getBody().removedCategoryIds(), is(empty()));
+        assertThat(menuResponse.getBody().categories().size(), is(equalTo(2)));
+        assertThat(menuResponse.getBody().categories().get(0).categoryId(), is(equalTo(soups.categoryId())));
+        assertThat(menuResponse.getBody().categories().get(0).food(), is(empty()));
+        assertThat(menuResponse.getBody().categories().get(1).categoryId(), is(equalTo(drinks.categoryId())));
+        assertThat(menuResponse.getBody().categories().get(1).food().get(0).foodName(), is(equalTo("Water")));
+        assertThat(menuResponse.getBody().categories().get(1).food().get(1).foodName(), is(equalTo("Lemonade")));
+    }
+
+    @Test
+    @DisplayName("Should get only categories changed since version and return 200 OK")
+    void shouldGetOnlyCategoriesChangedSinceVersionAndReturnOk() {
+        //given
+        var drinks = saveCategory("Drinks", 2L);
+        var soups = saveCategory("Soups", POSITION_ID);
+        var desserts = saveCategory("Desserts", 3L);
+        var version = client.getForEntity(prepareUrl(MENU_RESOURCE), MenuResponse.class).getBody().version();
+
+        saveFood(drinks.categoryId(), "Water", 5D, POSITION_ID);
+        runAsAdmin();
+        client.delete(prepareCategoryUrlWithCategoryId(desserts.categoryId()));
+
+        //when
+        var menuResponse = client.getForEntity(
+                prepareUrl(MENU_SINCE_VERSION_PATH.formatted(version)),
+                MenuResponse.class
+        );
+
+        //then
+        assertThat(menuResponse.getStatusCode(), is(equalTo(OK)));
+        assertThat(menuResponse.getBody(), is(notNullValue()));
+        assertThat(menuResponse.getBody().version(), is(greaterThan(version)));
+        assertThat(menuResponse.getBody().categories().size(), is(equalTo(1)));
+        assertThat(menuResponse.getBody().categories().get(0).categoryId(), is(equalTo(drinks.categoryId())));
+        assertThat(menuResponse.getBody().categories().get(0).food().get(0).foodName(), is(equalTo("Water")));
+        assertThat(menuResponse.getBody().removedCategoryIds(), is(equalTo(List.of(desserts.categoryId()))));
+        assertThat(menuResponse.getBody().categories().stream()
+                .noneMatch(category -> category.categoryId().equals(soups.categoryId())), is(true));
+    }
+}
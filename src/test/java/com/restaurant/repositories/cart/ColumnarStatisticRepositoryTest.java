@@ -0,0 +1,79 @@
+package com.restaurant.repositories.cart;
+
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.ColumnarStatisticRepository;
+import com.restaurant.cart.repository.statistic.StatisticRepository;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnarStatisticRepositoryTest extends BaseTestUseCase {
+
+    @Mock
+    private StatisticRepository statisticRepository;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should add order to snapshot only after transaction commits")
+    void shouldAddOrderToSnapshotOnlyAfterTransactionCommits() {
+        //given
+        var columnarStatisticRepository = new ColumnarStatisticRepository(statisticRepository);
+        var orderDate = ZonedDateTime.now();
+        var order = getCartDeliveredModel(orderDate);
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        columnarStatisticRepository.addOrder(order);
+        var valueBeforeCommit = columnarStatisticRepository.sumOrdersValueAfter(orderDate.toLocalDate().minusDays(1));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        //then
+        verify(statisticRepository).addOrder(order);
+        assertEquals(0D, valueBeforeCommit);
+        assertEquals(45D, columnarStatisticRepository.sumOrdersValueAfter(orderDate.toLocalDate().minusDays(1)));
+        assertEquals(0D, columnarStatisticRepository.sumOrdersValueAfter(orderDate.toLocalDate()));
+    }
+
+    @Test
+    @DisplayName("Should not add rolled back order to snapshot")
+    void shouldNotAddRolledBackOrderToSnapshot() {
+        //given
+        var columnarStatisticRepository = new ColumnarStatisticRepository(statisticRepository);
+        var orderDate = ZonedDateTime.now();
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        columnarStatisticRepository.addOrder(getCartDeliveredModel(orderDate));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        assertEquals(0D, columnarStatisticRepository.sumOrdersValueAfter(orderDate.toLocalDate().minusDays(1)));
+        assertEquals(List.of(), columnarStatisticRepository.findSoldFoodAfter(orderDate.toLocalDate().minusDays(1)));
+    }
+
+    private CartDeliveredModel getCartDeliveredModel(ZonedDateTime orderDate) {
+        return new CartDeliveredModel(1L, 2L, false, 45D, List.of(), List.of(), orderDate,
+                List.of(new CartLineModel(3L, "French fries", 15D, 3)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.restaurant.repositories.cart;
+
+import com.restaurant.cart.repository.current.dto.CartLineModel;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.statistic.JpaWrappedStatisticRepository;
+import com.restaurant.cart.repository.statistic.OrderDailyJpaRepository;
+import com.restaurant.cart.repository.statistic.SoldFoodDailyJpaRepository;
+import com.restaurant.cart.repository.statistic.UserSpendJpaRepository;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JpaWrappedStatisticRepositoryTest extends BaseTestUseCase {
+
+    private static final String FOOD_NAME = "French fries";
+
+    @Mock
+    private SoldFoodDailyJpaRepository soldFoodDailyJpaRepository;
+
+    @Mock
+    private OrderDailyJpaRepository orderDailyJpaRepository;
+
+    @Mock
+    private UserSpendJpaRepository userSpendJpaRepository;
+
+    @Test
+    @DisplayName("Should add order to daily rollups with single upsert per row")
+    void shouldAddOrderToDailyRollupsWithSingleUpsertPerRow() {
+        //given
+        var jpaWrappedStatisticRepository = getJpaWrappedStatisticRepository(true);
+        var order = getCartDeliveredModel();
+        var saleDate = order.orderDate().toLocalDate();
+
+        //when
+        jpaWrappedStatisticRepository.addOrder(order);
+
+        //then
+        verify(soldFoodDailyJpaRepository).upsert(saleDate, FOOD_NAME, 1500L, 3L, 4500L);
+        verify(orderDailyJpaRepository).upsert(saleDate, 4500L);
+        verifyNoMoreInteractions(soldFoodDailyJpaRepository, orderDailyJpaRepository);
+    }
+
+    @Test
+    @DisplayName("Should add order to daily rollups with merge when on conflict is not supported")
+    void shouldAddOrderToDailyRollupsWithMergeWhenOnConflictIsNotSupported() {
+        //given
+        var jpaWrappedStatisticRepository = getJpaWrappedStatisticRepository(false);
+        var order = getCartDeliveredModel();
+        var saleDate = order.orderDate().toLocalDate();
+
+        //when
+        jpaWrappedStatisticRepository.addOrder(order);
+
+        //then
+        verify(soldFoodDailyJpaRepository).merge(saleDate, FOOD_NAME, 1500L, 3L, 4500L);
+        verify(orderDailyJpaRepository).merge(saleDate, 4500L);
+        verifyNoMoreInteractions(soldFoodDailyJpaRepository, orderDailyJpaRepository);
+    }
+
+    @Test
+    @DisplayName("Should add user spend with single upsert")
+    void shouldAddUserSpendWithSingleUpsert() {
+        //given
+        var jpaWrappedStatisticRepository = getJpaWrappedStatisticRepository(true);
+        var order = getCartDeliveredModel();
+
+        //when
+        jpaWrappedStatisticRepository.addUserSpend(order);
+
+        //then
+        verify(userSpendJpaRepository).upsert(2L, 4500L);
+        verifyNoMoreInteractions(userSpendJpaRepository);
+    }
+
+    @Test
+    @DisplayName("Should limit top sold food in revenue query")
+    void shouldLimitTopSoldFoodInRevenueQuery() {
+        //given
+        var jpaWrappedStatisticRepository = getJpaWrappedStatisticRepository(true);
+        var afterDate = LocalDate.now().minusDays(7);
+
+        //when
+        jpaWrappedStatisticRepository.findTopSoldFoodAfter(afterDate, SoldFoodRanking.REVENUE, 5);
+
+        //then
+        verify(soldFoodDailyJpaRepository).findTopSoldFoodByRevenueAfter(afterDate, PageRequest.of(0, 5));
+        verifyNoMoreInteractions(soldFoodDailyJpaRepository);
+    }
+
+    private JpaWrappedStatisticRepository getJpaWrappedStatisticRepository(boolean onConflictSupported) {
+        return new JpaWrappedStatisticRepository(soldFoodDailyJpaRepository, orderDailyJpaRepository,
+                userSpendJpaRepository, onConflictSupported);
+    }
+
+    private CartDeliveredModel getCartDeliveredModel() {
+        return new CartDeliveredModel(1L, 2L, false, 45D, List.of(), List.of(), ZonedDateTime.now(),
+                List.of(new CartLineModel(3L, FOOD_NAME, 15D, 3)));
+    }
+}
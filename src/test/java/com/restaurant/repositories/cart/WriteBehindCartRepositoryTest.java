@@ -0,0 +1,239 @@
+package com.restaurant.repositories.cart;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.WriteBehindCartRepository;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.common.Status;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindCartRepositoryTest extends BaseTestUseCase {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 3_600_000L;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @TempDir
+    private Path logDirectory;
+
+    @Test
+    @DisplayName("Should keep cart edits in memory until flush")
+    void shouldKeepCartEditsInMemoryUntilFlush() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+        ArgumentCaptor<List<CartModel>> savedCarts = ArgumentCaptor.forClass(List.class);
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //when
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            verify(cartRepository, never()).saveAll(anyList());
+            writeBehindCartRepository.flush();
+
+            //then
+            verify(cartRepository, times(1)).saveAll(savedCarts.capture());
+            assertEquals(145D, savedCarts.getValue().get(0).cartValue());
+            assertEquals(3, savedCarts.getValue().get(0).lines().get(0).quantity());
+        }
+    }
+
+    @Test
+    @DisplayName("Should save cart before changing status to in delivery")
+    void shouldSaveCartBeforeChangingStatusToInDelivery() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //when
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            writeBehindCartRepository.changeStatusToInDelivery(cartModel.userId());
+
+            //then
+            InOrder inOrder = inOrder(cartRepository);
+            inOrder.verify(cartRepository).saveAll(anyList());
+            inOrder.verify(cartRepository).changeStatusToInDelivery(cartModel.userId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should save carts from mutation log after restart")
+    void shouldSaveCartsFromMutationLogAfterRestart() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+        ArgumentCaptor<List<CartModel>> savedCarts = ArgumentCaptor.forClass(List.class);
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+
+        var crashedCartRepository = getWriteBehindCartRepository();
+        crashedCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+
+        //when
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //then
+            verify(cartRepository).saveAll(savedCarts.capture());
+            assertEquals(100D, savedCarts.getValue().get(0).cartValue());
+            assertEquals(Status.IN_ORDER, savedCarts.getValue().get(0).status());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not keep cart edit of rolled back transaction")
+    void shouldNotKeepCartEditOfRolledBackTransaction() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            TransactionSynchronizationManager.initSynchronization();
+
+            //when
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+            writeBehindCartRepository.flush();
+
+            //then
+            verify(cartRepository, never()).saveAll(anyList());
+            assertEquals(55D, writeBehindCartRepository.findValueOfCartByUserId(cartModel.userId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop cart edits when cart was changed in database before flush")
+    void shouldDropCartEditsWhenCartWasChangedInDatabaseBeforeFlush() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+        when(cartRepository.saveAll(anyList())).thenReturn(List.of());
+
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //when
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            writeBehindCartRepository.flush();
+
+            //then
+            assertEquals(55D, writeBehindCartRepository.findValueOfCartByUserId(cartModel.userId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should save next cart edit against version written by flush")
+    void shouldSaveNextCartEditAgainstVersionWrittenByFlush() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+        ArgumentCaptor<List<CartModel>> savedCarts = ArgumentCaptor.forClass(List.class);
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+        when(cartRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.<List<CartModel>>getArgument(0).stream()
+                .map(cart -> new CartModel(cart.cartId(), cart.userId(), cart.loyaltyCard(), cart.cartValue(),
+                        cart.food(), cart.foodPrice(), cart.lines(), cart.status(), cart.version() + 1))
+                .toList());
+
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //when
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            writeBehindCartRepository.flush();
+            writeBehindCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+            writeBehindCartRepository.flush();
+
+            //then
+            verify(cartRepository, times(2)).saveAll(savedCarts.capture());
+            assertEquals(0L, savedCarts.getAllValues().get(0).get(0).version());
+            assertEquals(1L, savedCarts.getAllValues().get(1).get(0).version());
+            assertEquals(145D, savedCarts.getAllValues().get(1).get(0).cartValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not save swept cart with flush or after restart")
+    void shouldNotSaveSweptCartWithFlushOrAfterRestart() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+        when(cartRepository.deleteIdleCarts(any(), anyInt())).thenReturn(List.of(cartModel.userId()));
+
+        var crashedCartRepository = getWriteBehindCartRepository();
+        crashedCartRepository.addToCart(cartModel.userId(), 45D, food, true);
+
+        //when
+        crashedCartRepository.deleteIdleCarts(ZonedDateTime.now(), 10);
+        crashedCartRepository.flush();
+        try (var writeBehindCartRepository = getWriteBehindCartRepository()) {
+            //then
+            verify(cartRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse cart edits when flushes keep failing")
+    void shouldRefuseCartEditsWhenFlushesKeepFailing() throws IOException {
+        //given
+        CartModel cartModel = getWithCartModel();
+        Food food = getFood();
+
+        when(cartRepository.findCartByUserId(cartModel.userId())).thenReturn(Optional.of(cartModel));
+        when(cartRepository.saveAll(anyList())).thenThrow(IllegalStateException.class);
+
+        var writeBehindCartRepository = getWriteBehindCartRepository();
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            writeBehindCartRepository.addToCart(cartModel.userId(), 1D, food, true);
+            writeBehindCartRepository.flush();
+        }
+
+        //then
+        assertThrows(IllegalStateException.class,
+                () -> writeBehindCartRepository.addToCart(cartModel.userId(), 1D, food, true));
+    }
+
+    private WriteBehindCartRepository getWriteBehindCartRepository() {
+        return new WriteBehindCartRepository(cartRepository, TransactionOperations.withoutTransaction(),
+                logDirectory, FLUSH_INTERVAL_MILLIS);
+    }
+}
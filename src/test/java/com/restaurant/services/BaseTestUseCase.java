@@ -1,7 +1,9 @@
 package com.restaurant.services;
 
+import com.restaurant.cart.repository.current.dto.CartLineModel;
 import com.restaurant.cart.repository.current.dto.CartModel;
 import com.restaurant.cart.service.current.dto.Cart;
+import com.restaurant.common.Status;
 import com.restaurant.contact.repository.dto.ContactModel;
 import com.restaurant.contact.service.dto.Contact;
 import com.restaurant.food.controller.dto.FoodRequest;
@@ -215,7 +217,10 @@ public class BaseTestUseCase {
                 true,
                 55D,
                 List.of("Beer"),
-                List.of(50D)
+                List.of(50D),
+                List.of(new CartLineModel(1L, "Beer", 50D, 1)),
+                Status.IN_ORDER,
+                0L
         );
     }
 
@@ -1,15 +1,41 @@
 package com.restaurant.services.cart;
 
 import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.dto.CartLineModel;
 import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.controller.dto.OrderDate;
 import com.restaurant.cart.repository.delivered.CartDeliveredRepository;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredCursor;
+import com.restaurant.cart.repository.delivered.dto.CartDeliveredModel;
+import com.restaurant.cart.repository.delivered.dto.OrderExportLineModel;
+import com.restaurant.cart.repository.delivered.dto.OrderSeriesRowModel;
+import com.restaurant.cart.repository.statistic.StatisticRepository;
+import com.restaurant.cart.repository.statistic.dto.SoldFoodStatisticModel;
+import com.restaurant.cart.repository.statistic.dto.UserSpendModel;
+import com.restaurant.cart.service.current.BaseCartCommandService;
 import com.restaurant.cart.service.current.BaseCartService;
+import com.restaurant.cart.service.current.CartDeliveryPipeline;
+import com.restaurant.cart.service.current.CartMutationGuard;
+import com.restaurant.cart.service.current.dto.AddFoodResult;
+import com.restaurant.cart.service.current.dto.AddFoodStatus;
 import com.restaurant.cart.service.current.dto.Cart;
+import com.restaurant.cart.service.current.dto.CartItem;
+import com.restaurant.cart.service.current.dto.ConfirmOrderResult;
+import com.restaurant.cart.service.current.dto.ConfirmOrderStatus;
+import com.restaurant.cart.service.current.dto.SoldFoodSummary;
 import com.restaurant.cart.service.delivered.BaseCartDeliveredService;
 import com.restaurant.cart.service.delivered.CartDeliveredService;
-import com.restaurant.cart.service.delivered.dto.CartDelivered;
+import com.restaurant.cart.service.delivered.dto.CartDeliveredPage;
+import com.restaurant.cart.service.delivered.dto.ExportFormat;
+import com.restaurant.cart.service.delivered.dto.OrderSeriesPoint;
+import com.restaurant.cart.service.delivered.dto.SeriesBucket;
+import com.restaurant.cart.service.delivered.dto.SoldFoodRanking;
+import com.restaurant.cart.service.delivered.dto.UserSpend;
+import com.restaurant.category.service.CategoryService;
 import com.restaurant.common.Status;
+import com.restaurant.food.service.FoodService;
 import com.restaurant.food.service.dto.Food;
+import com.restaurant.user.service.UserService;
 import com.restaurant.user.service.dto.User;
 import com.restaurant.services.BaseTestUseCase;
 import org.junit.jupiter.api.DisplayName;
@@ -17,16 +43,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.restaurant.common.ConstantValues.DISCOUNT;
+import static com.restaurant.common.ConstantValues.LEGACY_FOOD_MIGRATION_CHUNK_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,12 +86,36 @@ class BaseCartServiceTest extends BaseTestUseCase {
     @InjectMocks
     private BaseCartDeliveredService baseCartDeliveredService;
 
+    @InjectMocks
+    private BaseCartCommandService baseCartCommandService;
+
+    @Spy
+    private CartMutationGuard cartMutationGuard = new CartMutationGuard();
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @Mock
     private CartDeliveredRepository cartDeliveredRepository;
 
     @Mock
     private CartDeliveredService cartDeliveredService;
 
+    @Mock
+    private CartDeliveryPipeline cartDeliveryPipeline;
+
+    @Mock
+    private StatisticRepository statisticRepository;
+
+    @Mock
+    private FoodService foodService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private UserService userService;
+
     @Test
     @DisplayName("Should get status of order")
     void shouldGetStatusOfOrder() {
@@ -83,38 +151,29 @@ class BaseCartServiceTest extends BaseTestUseCase {
     }
 
     @Test
-    @DisplayName("Should add food to cart with discount")
-    void shouldAddFoodToCartWithDiscount() {
+    @DisplayName("Should hand confirmed delivery to delivery pipeline")
+    void shouldHandConfirmedDeliveryToDeliveryPipeline() {
         //given
-        Double valueOfCart = 40D;
-        boolean expectedUserExists = true;
-
         User user = getWithUser();
-        Food food = getFood();
         CartModel cartModel = getWithCartModel();
-        Cart cart = getCartFromCartModel(cartModel);
-
-        Double foodValue = food.foodPrice() - (food.foodPrice() * DISCOUNT);
 
-        when(cartRepository.existsByUserId(anyLong())).thenReturn(expectedUserExists);
-        when(cartRepository.findValueOfCartByUserId(anyLong())).thenReturn(valueOfCart);
-        when(cartRepository.addToCart(user.userId(), foodValue, food, user.loyaltyCard()))
-                .thenReturn(Optional.of(cartModel));
+        when(cartRepository.existsByUserId(user.userId())).thenReturn(true);
+        when(cartRepository.getStatus(user.userId())).thenReturn(Status.IN_DELIVERY);
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.of(cartModel));
 
         //when
-        Optional<Cart> resultOfAddedFoodToCart = baseCartService.addFoodToCart(user, food);
+        Status statusOfOrder = baseCartService.confirmAnOrder(user.userId());
 
         //then
-        assertEquals(Optional.of(cart), resultOfAddedFoodToCart);
+        assertEquals(Status.IN_DELIVERY, statusOfOrder);
+        verify(cartDeliveryPipeline).deliver(cartModel);
+        verify(cartRepository, never()).confirmAnOrder(anyLong());
     }
 
     @Test
-    @DisplayName("Should add food to cart without discount")
-    void shouldAddFoodToCartWithoutDiscount() {
+    @DisplayName("Should add food to new cart with single load of user, food and cart")
+    void shouldAddFoodToNewCartWithSingleLoad() {
         //given
-        Double valueOfCart = 0D;
-        boolean expectedUserExists = true;
-
         User user = getWithoutUser();
         Food food = getWithoutFood();
         CartModel cartModel = new CartModel(
@@ -123,40 +182,121 @@ class BaseCartServiceTest extends BaseTestUseCase {
                 false,
                 20D,
                 List.of("Beer"),
-                List.of(10D)
+                List.of(10D),
+                List.of(new CartLineModel(1L, "Beer", 10D, 1)),
+                Status.IN_ORDER,
+                0L
         );
-        Cart cart = getCartFromCartModel(cartModel);
 
-        when(cartRepository.existsByUserId(anyLong())).thenReturn(expectedUserExists);
-        when(cartRepository.findValueOfCartByUserId(anyLong())).thenReturn(valueOfCart);
-        when(cartRepository.addToCart(user.userId(), food.foodPrice(), food, user.loyaltyCard()))
-                .thenReturn(Optional.of(cartModel));
+        when(userService.getUserByEmail(user.email())).thenReturn(Optional.of(user));
+        when(foodService.getFoodByCategoryIdAndFoodId(food.categoryId(), food.foodId())).thenReturn(Optional.of(food));
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.empty());
+        when(cartRepository.insertWithFood(user.userId(), food.foodPrice(), Map.of(food, 1), user.loyaltyCard()))
+                .thenReturn(cartModel);
 
         //when
-        Optional<Cart> resultOfAddedFoodToCart = baseCartService.addFoodToCart(user, food);
+        AddFoodResult resultOfAddedFood = baseCartCommandService.addFoodToCart(
+                user.email(), food.categoryId(), food.foodId());
 
         //then
-        assertEquals(Optional.of(cart), resultOfAddedFoodToCart);
+        assertEquals(new AddFoodResult(AddFoodStatus.ADDED, getCartFromCartModel(cartModel)), resultOfAddedFood);
     }
 
     @Test
-    @DisplayName("Should not add food to cart by not enough money")
-    void shouldNotAddFoodToCartByNotEnoughMoney() {
+    @DisplayName("Should not add food to cart in delivery")
+    void shouldNotAddFoodToCartInDelivery() {
         //given
-        Double valueOfCart = 20D;
-        boolean expectedUserExists = true;
+        User user = getWithUser();
+        Food food = getFood();
+        CartModel cartModel = getWithCartModel();
+        CartModel cartInDelivery = new CartModel(cartModel.cartId(), cartModel.userId(), cartModel.loyaltyCard(),
+                cartModel.cartValue(), cartModel.food(), cartModel.foodPrice(), cartModel.lines(), Status.IN_DELIVERY,
+                cartModel.version());
+
+        when(userService.getUserByEmail(user.email())).thenReturn(Optional.of(user));
+        when(foodService.getFoodByCategoryIdAndFoodId(food.categoryId(), food.foodId())).thenReturn(Optional.of(food));
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.of(cartInDelivery));
+
+        //when
+        AddFoodResult resultOfAddedFood = baseCartCommandService.addFoodToCart(
+                user.email(), food.categoryId(), food.foodId());
+
+        //then
+        assertEquals(new AddFoodResult(AddFoodStatus.IN_DELIVERY, null), resultOfAddedFood);
+    }
+
+    @Test
+    @DisplayName("Should add food items to new cart with merged quantities")
+    void shouldAddFoodItemsToNewCartWithMergedQuantities() {
+        //given
+        User user = getWithUser();
+        Food food = getFood();
+        Double foodValue = (food.foodPrice() - food.foodPrice() * DISCOUNT) * 3;
+        CartModel cartModel = new CartModel(
+                1L,
+                user.userId(),
+                true,
+                10D + foodValue,
+                List.of("Beer", "Beer", "Beer"),
+                List.of(50D, 50D, 50D),
+                List.of(new CartLineModel(1L, "Beer", 50D, 3)),
+                Status.IN_ORDER,
+                0L
+        );
+        List<CartItem> cartItems = List.of(
+                new CartItem(food.categoryId(), food.foodId(), 2),
+                new CartItem(food.categoryId(), food.foodId(), 1)
+        );
+
+        when(userService.getUserByEmail(user.email())).thenReturn(Optional.of(user));
+        when(foodService.getFoodByIds(Set.of(food.foodId()))).thenReturn(Map.of(food.foodId(), food));
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.empty());
+        when(cartRepository.insertWithFood(user.userId(), foodValue, Map.of(food, 3), user.loyaltyCard()))
+                .thenReturn(cartModel);
+
+        //when
+        AddFoodResult resultOfAddedFood = baseCartCommandService.addFoodToCart(user.email(), cartItems);
+
+        //then
+        assertEquals(new AddFoodResult(AddFoodStatus.ADDED, getCartFromCartModel(cartModel)), resultOfAddedFood);
+    }
 
+    @Test
+    @DisplayName("Should not add food items when total exceeds user money")
+    void shouldNotAddFoodItemsWhenTotalExceedsUserMoney() {
+        //given
         User user = getWithoutUser();
         Food food = getWithoutFood();
+        List<CartItem> cartItems = List.of(new CartItem(food.categoryId(), food.foodId(), 2));
+
+        when(userService.getUserByEmail(user.email())).thenReturn(Optional.of(user));
+        when(foodService.getFoodByIds(Set.of(food.foodId()))).thenReturn(Map.of(food.foodId(), food));
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.empty());
+
+        //when
+        AddFoodResult resultOfAddedFood = baseCartCommandService.addFoodToCart(user.email(), cartItems);
+
+        //then
+        assertEquals(new AddFoodResult(AddFoodStatus.NOT_ENOUGH_MONEY, null), resultOfAddedFood);
+        verify(cartRepository, never()).insertWithFood(anyLong(), any(), any(Map.class), any());
+    }
 
-        when(cartRepository.existsByUserId(anyLong())).thenReturn(expectedUserExists);
-        when(cartRepository.findValueOfCartByUserId(anyLong())).thenReturn(valueOfCart);
+    @Test
+    @DisplayName("Should not confirm order when debit fails")
+    void shouldNotConfirmOrderWhenDebitFails() {
+        //given
+        User user = getWithUser();
+        CartModel cartModel = getWithCartModel();
+
+        when(cartRepository.findCartByUserId(user.userId())).thenReturn(Optional.of(cartModel));
+        when(userService.completeOrder(user.userId(), cartModel.cartValue())).thenReturn(false);
 
         //when
-        Optional<Cart> resultOfAddedFoodToCart = baseCartService.addFoodToCart(user, food);
+        ConfirmOrderResult resultOfConfirm = baseCartCommandService.confirmOrder(user.userId());
 
         //then
-        assertEquals(Optional.empty(), resultOfAddedFoodToCart);
+        assertEquals(new ConfirmOrderResult(ConfirmOrderStatus.NOT_ENOUGH_MONEY, null), resultOfConfirm);
+        verify(cartRepository, never()).changeStatusToInDelivery(anyLong());
     }
 
     @Test
@@ -204,11 +344,55 @@ class BaseCartServiceTest extends BaseTestUseCase {
         User user = getWithUser();
         Food food = getFood();
 
+        when(cartRepository.decrementFoodQuantity(user.userId(), food)).thenReturn(true);
+
+        //when
+        boolean resultOfCancel = baseCartService.cancelSpecificOrder(user.userId(), food);
+
+        //then
+        assertEquals(true, resultOfCancel);
+        verify(cartRepository).decrementFoodQuantity(user.userId(), food);
+    }
+
+    @Test
+    @DisplayName("Should retry cancel of specific order after optimistic locking failure")
+    void shouldRetryCancelSpecificOrderAfterOptimisticLockingFailure() {
+        //given
+        User user = getWithUser();
+        Food food = getFood();
+
+        when(cartRepository.decrementFoodQuantity(user.userId(), food))
+                .thenThrow(new OptimisticLockingFailureException("Cart was updated"))
+                .thenReturn(true);
+
+        //when
+        boolean resultOfCancel = baseCartService.cancelSpecificOrder(user.userId(), food);
+
+        //then
+        assertEquals(true, resultOfCancel);
+        verify(cartRepository, times(2)).decrementFoodQuantity(user.userId(), food);
+    }
+
+    @Test
+    @DisplayName("Should retry cancel of order when its transaction fails to commit with optimistic locking failure")
+    void shouldRetryCancelOfOrderWhenItsTransactionFailsToCommitWithOptimisticLockingFailure() {
+        //given
+        User user = getWithUser();
+
+        when(cartRepository.existsByUserId(user.userId())).thenReturn(true);
+        when(cartRepository.getStatus(user.userId())).thenReturn(Status.IN_ORDER);
+        doAnswer(invocation -> {
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            throw new OptimisticLockingFailureException("Cart was updated");
+        }).doCallRealMethod().when(transactionOperations).execute(any());
+
         //when
-        baseCartService.cancelSpecificOrder(user.userId(), food);
+        Status resultOfCancelOrder = baseCartService.cancelOrder(user.userId());
 
         //then
-        verify(cartRepository).deleteSpecificOrder(user.userId(), food);
+        assertEquals(Status.IN_ORDER, resultOfCancelOrder);
+        verify(transactionOperations, times(2)).execute(any());
+        verify(cartRepository, times(2)).deleteOrder(user.userId());
     }
 
     @Test
@@ -229,38 +413,30 @@ class BaseCartServiceTest extends BaseTestUseCase {
     }
 
     @Test
-    @DisplayName("Should get all delivered cart")
-    void shouldGetAllDeliveredCart() {
+    @DisplayName("Should migrate legacy food in chunks until last chunk is not full")
+    void shouldMigrateLegacyFoodInChunksUntilLastChunkIsNotFull() {
         //given
-        boolean expectedUserExists = true;
-        User user = getWithUser();
-
-        CartDelivered secCart = new CartDelivered(
-                1L, 1L, true, 50D, List.of("Beer"), List.of(55D), ZonedDateTime.now()
-        );
-
-        List<CartDelivered> carts = new ArrayList<>();
-        carts.add(secCart);
+        int chunkSize = LEGACY_FOOD_MIGRATION_CHUNK_SIZE;
 
-        when(cartDeliveredService.existsByUserId(user.userId())).thenReturn(expectedUserExists);
-        when(cartDeliveredService.findByUserId(user.userId())).thenReturn(carts);
+        when(cartRepository.migrateLegacyFood(chunkSize)).thenReturn(chunkSize, 1);
+        when(cartDeliveredService.migrateLegacyFood(chunkSize)).thenReturn(0);
 
         //when
-        List<CartDelivered> resultOfAllCarts = baseCartService.getAllDeliveredCart(user.userId());
+        baseCartService.migrateLegacyFood();
 
         //then
-        assertEquals(carts, resultOfAllCarts);
+        verify(cartRepository, times(2)).migrateLegacyFood(chunkSize);
+        verify(cartDeliveredService).migrateLegacyFood(chunkSize);
+        verify(transactionOperations, times(3)).execute(any());
     }
 
     @Test
     @DisplayName("Should get overall cart value")
     void shouldGetOverallCartValue() {
         //given
-        boolean expectedUserExists = true;
         User user = getWithUser();
         Double value = 50D;
 
-        when(cartDeliveredService.existsByUserId(user.userId())).thenReturn(expectedUserExists);
         when(cartDeliveredService.sumAll(user.userId())).thenReturn(value);
 
         //when
@@ -269,4 +445,208 @@ class BaseCartServiceTest extends BaseTestUseCase {
         //then
         assertEquals(value, resultOfOverallCartValue);
     }
+
+    @Test
+    @DisplayName("Should get page of delivered carts with cursor to the next one")
+    void shouldGetPageOfDeliveredCartsWithNextCursor() {
+        //given
+        User user = getWithUser();
+        ZonedDateTime orderDate = ZonedDateTime.parse("2023-08-01T12:00:00.123456Z");
+        CartDeliveredModel newerCart = new CartDeliveredModel(
+                2L, user.userId(), true, 50D, List.of("Beer"), List.of(55D), orderDate, List.of()
+        );
+        CartDeliveredModel olderCart = new CartDeliveredModel(
+                1L, user.userId(), true, 50D, List.of("Beer"), List.of(55D), orderDate.minusDays(1), List.of()
+        );
+        CartDeliveredCursor expectedCursor = new CartDeliveredCursor(orderDate.withZoneSameInstant(ZoneOffset.UTC), 2L);
+
+        when(cartDeliveredRepository.findCartsDeliveredPage(user.userId(), Optional.empty(), 2))
+                .thenReturn(List.of(newerCart, olderCart));
+        when(cartDeliveredRepository.findCartsDeliveredPage(user.userId(), Optional.of(expectedCursor), 2))
+                .thenReturn(List.of(olderCart));
+
+        //when
+        Optional<CartDeliveredPage> firstPage = baseCartDeliveredService.findPageByUserId(user.userId(), null, 1);
+        Optional<CartDeliveredPage> secondPage = baseCartDeliveredService.findPageByUserId(
+                user.userId(), firstPage.get().nextCursor(), 1);
+
+        //then
+        assertEquals(1, firstPage.get().carts().size());
+        assertEquals(2L, firstPage.get().carts().get(0).cartId());
+        assertEquals(1L, secondPage.get().carts().get(0).cartId());
+        assertEquals(null, secondPage.get().nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should not get page of delivered carts by invalid cursor")
+    void shouldNotGetPageOfDeliveredCartsByInvalidCursor() {
+        //when
+        Optional<CartDeliveredPage> resultOfPage = baseCartDeliveredService.findPageByUserId(1L, "not-a-cursor", 20);
+
+        //then
+        assertEquals(Optional.empty(), resultOfPage);
+    }
+
+    @Test
+    @DisplayName("Should get hourly series of orders in one pass")
+    void shouldGetHourlySeriesOfOrders() {
+        //given
+        ZonedDateTime from = ZonedDateTime.parse("2023-08-01T12:00:00Z");
+        ZonedDateTime to = from.plusHours(3);
+
+        when(cartDeliveredRepository.streamOrderTotalsBetween(from, to)).thenReturn(Stream.of(
+                new OrderSeriesRowModel(from.plusMinutes(5), 15.5D, 2L),
+                new OrderSeriesRowModel(from.plusMinutes(55), 20D, 1L),
+                new OrderSeriesRowModel(from.plusHours(2).plusMinutes(1), 11D, 1L)
+        ));
+
+        //when
+        List<OrderSeriesPoint> resultOfSeries = baseCartDeliveredService.getOrderSeries(from, to, SeriesBucket.HOUR);
+
+        //then
+        assertEquals(List.of(
+                new OrderSeriesPoint(from, 2L, 35.5D, 3L),
+                new OrderSeriesPoint(from.plusHours(1), 0L, 0D, 0L),
+                new OrderSeriesPoint(from.plusHours(2), 1L, 11D, 1L)
+        ), resultOfSeries);
+    }
+
+    @Test
+    @DisplayName("Should export delivered order lines as csv")
+    void shouldExportDeliveredOrderLinesAsCsv() throws IOException {
+        //given
+        ZonedDateTime orderDate = ZonedDateTime.parse("2023-08-01T12:00:00Z");
+        OrderExportLineModel orderLine = new OrderExportLineModel(
+                1L, 2L, orderDate, false, 21D, "Fish, chips", 5.5D, 2
+        );
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        when(cartDeliveredRepository.streamOrderLinesBetween(orderDate, orderDate.plusDays(1)))
+                .thenReturn(Stream.of(orderLine));
+
+        //when
+        baseCartDeliveredService.exportOrders(orderDate, orderDate.plusDays(1), ExportFormat.CSV, outputStream);
+
+        //then
+        assertEquals("cartId,userId,orderDate,loyaltyCard,cartValue,foodName,foodPrice,quantity\n" +
+                "1,2,2023-08-01T12:00:00Z,false,21.0,\"Fish, chips\",5.5,2\n", outputStream.toString());
+    }
+
+    @Test
+    @DisplayName("Should get user spend from running total")
+    void shouldGetUserSpendFromRunningTotal() {
+        //given
+        User user = getWithUser();
+
+        when(statisticRepository.findUserSpend(user.userId()))
+                .thenReturn(Optional.of(new UserSpendModel(user.userId(), 3L, 15050L)));
+
+        //when
+        UserSpend resultOfUserSpend = baseCartDeliveredService.getUserSpend(user.userId());
+
+        //then
+        assertEquals(new UserSpend(3L, 150.5D), resultOfUserSpend);
+    }
+
+    @Test
+    @DisplayName("Should load only columnar snapshot when daily statistics exist")
+    void shouldLoadOnlyColumnarSnapshotWhenDailyStatisticsExist() {
+        //given
+        CartDeliveredModel cart = new CartDeliveredModel(
+                1L, 2L, false, 15D, List.of("Beer"), List.of(5D), ZonedDateTime.now(), List.of()
+        );
+
+        when(statisticRepository.isSnapshotEmpty()).thenReturn(true);
+        when(cartDeliveredRepository.streamAllOrders()).thenReturn(Stream.of(cart));
+
+        //when
+        baseCartDeliveredService.initStatistics();
+
+        //then
+        verify(statisticRepository).addToSnapshot(cart);
+        verify(statisticRepository, never()).addOrder(any(CartDeliveredModel.class));
+        verify(statisticRepository, never()).addUserSpend(any(CartDeliveredModel.class));
+    }
+
+    @Test
+    @DisplayName("Should sum value of all orders from daily statistics")
+    void shouldSumValueOfAllOrdersFromDailyStatistics() {
+        //given
+        Double value = 125.5D;
+
+        when(statisticRepository.sumOrdersValueAfter(any(LocalDate.class))).thenReturn(value);
+
+        //when
+        Double resultOfAllOrders = baseCartDeliveredService.sumAllSoldFood(new OrderDate("month"));
+
+        //then
+        assertEquals(value, resultOfAllOrders);
+    }
+
+    @Test
+    @DisplayName("Should get sold food summary from daily statistics")
+    void shouldGetSoldFoodSummaryFromDailyStatistics() {
+        //given
+        SoldFoodStatisticModel soldFood = new SoldFoodStatisticModel("Beer", 550L, 3L, 1650L);
+
+        when(statisticRepository.findSoldFoodAfter(any(LocalDate.class))).thenReturn(List.of(soldFood));
+
+        //when
+        List<SoldFoodSummary> resultOfSoldFood = baseCartDeliveredService.findAllUsersOrders(new OrderDate("month"));
+
+        //then
+        assertEquals(List.of(new SoldFoodSummary("Beer", 5.5D, 3, 16.5D, null, null, null)), resultOfSoldFood);
+    }
+
+    @Test
+    @DisplayName("Should add orders from first day of period to daily statistics")
+    void shouldAddOrdersFromFirstDayOfPeriodToDailyStatistics() {
+        //given
+        SoldFoodStatisticModel soldFood = new SoldFoodStatisticModel("Beer", 550L, 3L, 1650L);
+        SoldFoodStatisticModel firstDaySoldFood = new SoldFoodStatisticModel("Beer", 550L, 2L, 1100L);
+
+        when(statisticRepository.sumOrdersValueAfter(any(LocalDate.class))).thenReturn(125.5D);
+        when(statisticRepository.findSoldFoodAfter(any(LocalDate.class))).thenReturn(List.of(soldFood));
+        when(cartDeliveredRepository.sumOrdersValueBetween(any(ZonedDateTime.class), any(ZonedDateTime.class)))
+                .thenReturn(21D);
+        when(cartDeliveredRepository.findSoldFoodBetween(any(ZonedDateTime.class), any(ZonedDateTime.class)))
+                .thenReturn(List.of(firstDaySoldFood));
+
+        //when
+        Double resultOfAllOrders = baseCartDeliveredService.sumAllSoldFood(new OrderDate("month"));
+        List<SoldFoodSummary> resultOfSoldFood = baseCartDeliveredService.findAllUsersOrders(new OrderDate("month"));
+
+        //then
+        assertEquals(146.5D, resultOfAllOrders);
+        assertEquals(List.of(new SoldFoodSummary("Beer", 5.5D, 5, 27.5D, null, null, null)), resultOfSoldFood);
+    }
+
+    @Test
+    @DisplayName("Should get top sold food by revenue")
+    void shouldGetTopSoldFoodByRevenue() {
+        //given
+        SoldFoodStatisticModel beer = new SoldFoodStatisticModel("Beer", 550L, 3L, 1650L);
+        SoldFoodStatisticModel steak = new SoldFoodStatisticModel("Steak", 5400L, 1L, 5400L);
+        SoldFoodStatisticModel soup = new SoldFoodStatisticModel("Soup", 1000L, 2L, 2000L);
+
+        SoldFoodStatisticModel firstDayBeer = new SoldFoodStatisticModel("Beer", 550L, 2L, 1100L);
+
+        when(statisticRepository.findTopSoldFoodAfter(any(LocalDate.class), any(SoldFoodRanking.class), anyInt()))
+                .thenReturn(List.of(steak, soup));
+        when(statisticRepository.findSoldFoodAfter(any(LocalDate.class), anyCollection())).thenReturn(List.of(beer));
+        when(cartDeliveredRepository.findSoldFoodBetween(any(ZonedDateTime.class), any(ZonedDateTime.class)))
+                .thenReturn(List.of(firstDayBeer));
+
+        //when
+        List<SoldFoodSummary> resultOfTopSoldFood = baseCartDeliveredService.findTopSoldFood(
+                new OrderDate("week"), SoldFoodRanking.REVENUE, 2);
+
+        //then
+        assertEquals(List.of(
+                new SoldFoodSummary("Steak", 54D, 1, 54D, null, null, null),
+                new SoldFoodSummary("Beer", 5.5D, 5, 27.5D, null, null, null)
+        ), resultOfTopSoldFood);
+        verify(statisticRepository).findTopSoldFoodAfter(any(LocalDate.class), any(SoldFoodRanking.class), eq(2));
+        verify(statisticRepository, never()).findSoldFoodAfter(any(LocalDate.class));
+    }
 }
@@ -0,0 +1,118 @@
+package com.restaurant.services.cart;
+
+import com.restaurant.cart.repository.current.CartRepository;
+import com.restaurant.cart.repository.current.dto.CartModel;
+import com.restaurant.cart.service.current.BatchingCartDeliveryPipeline;
+import com.restaurant.cart.service.delivered.CartDeliveredService;
+import com.restaurant.common.Status;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingCartDeliveryPipelineTest extends BaseTestUseCase {
+
+    private static final int QUEUE_CAPACITY = 10;
+
+    private static final int BATCH_SIZE = 5;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartDeliveredService cartDeliveredService;
+
+    @Test
+    @DisplayName("Should save every queued delivery before close returns")
+    void shouldSaveEveryQueuedDeliveryBeforeCloseReturns() {
+        //given
+        ArgumentCaptor<List<CartModel>> deliveredCarts = ArgumentCaptor.forClass(List.class);
+        var cartDeliveryPipeline = getBatchingCartDeliveryPipeline();
+
+        //when
+        cartDeliveryPipeline.deliver(getInDeliveryCartModel(1L));
+        cartDeliveryPipeline.deliver(getInDeliveryCartModel(2L));
+        cartDeliveryPipeline.close();
+
+        //then
+        verify(cartDeliveredService, atLeastOnce()).addAllToUsers(deliveredCarts.capture());
+        verify(cartRepository, atLeastOnce()).confirmOrders(anyList());
+        assertEquals(List.of(1L, 2L), deliveredCarts.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(CartModel::userId)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should save delivery confirmed twice only once")
+    void shouldSaveDeliveryConfirmedTwiceOnlyOnce() throws InterruptedException {
+        //given
+        var writeStarted = new CountDownLatch(1);
+        var releaseWrite = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            releaseWrite.await(1, TimeUnit.MINUTES);
+            return null;
+        }).when(cartDeliveredService).addAllToUsers(anyList());
+        var cartDeliveryPipeline = getBatchingCartDeliveryPipeline();
+        var cartModel = getInDeliveryCartModel(1L);
+
+        //when
+        cartDeliveryPipeline.deliver(cartModel);
+        writeStarted.await(1, TimeUnit.MINUTES);
+        cartDeliveryPipeline.deliver(cartModel);
+        releaseWrite.countDown();
+        cartDeliveryPipeline.close();
+
+        //then
+        verify(cartDeliveredService, times(1)).addAllToUsers(List.of(cartModel));
+        verify(cartRepository, times(1)).confirmOrders(List.of(cartModel));
+    }
+
+    @Test
+    @DisplayName("Should save delivery confirmed after close again when its write failed")
+    void shouldSaveDeliveryConfirmedAfterCloseAgainWhenItsWriteFailed() {
+        //given
+        var cartDeliveryPipeline = getBatchingCartDeliveryPipeline();
+        var cartModel = getInDeliveryCartModel(1L);
+        doThrow(IllegalStateException.class, IllegalStateException.class).doNothing()
+                .when(cartDeliveredService).addAllToUsers(List.of(cartModel));
+        cartDeliveryPipeline.close();
+
+        //when
+        cartDeliveryPipeline.deliver(cartModel);
+        cartDeliveryPipeline.deliver(cartModel);
+
+        //then
+        verify(cartDeliveredService, times(3)).addAllToUsers(List.of(cartModel));
+        verify(cartRepository, times(1)).confirmOrders(List.of(cartModel));
+    }
+
+    private BatchingCartDeliveryPipeline getBatchingCartDeliveryPipeline() {
+        return new BatchingCartDeliveryPipeline(cartRepository, cartDeliveredService,
+                TransactionOperations.withoutTransaction(), QUEUE_CAPACITY, BATCH_SIZE);
+    }
+
+    private CartModel getInDeliveryCartModel(Long userId) {
+        var cartModel = getWithCartModel();
+        return new CartModel(userId, userId, cartModel.loyaltyCard(), cartModel.cartValue(), cartModel.food(),
+                cartModel.foodPrice(), cartModel.lines(), Status.IN_DELIVERY, cartModel.version());
+    }
+}
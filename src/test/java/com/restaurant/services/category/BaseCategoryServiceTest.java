@@ -138,15 +138,9 @@ class BaseCategoryServiceTest extends BaseTestUseCase {
     void shouldCheckIfCategoryExistsByPositionId() {
         //given
         boolean existsCategory = true;
-        Long categoryId = 2L;
         Long positionId = 16L;
-        String categoryName = "Kids menu";
 
-        CategoryModel categoryModel = new CategoryModel(categoryId, positionId, categoryName);
-        List<CategoryModel> categoryModels = new ArrayList<>();
-        categoryModels.add(categoryModel);
-
-        when(categoryRepository.findAll()).thenReturn(categoryModels);
+        when(categoryRepository.existsByPositionId(positionId)).thenReturn(existsCategory);
 
         //when
         boolean existsResult = baseCategoryService.existsByPositionId(positionId);
@@ -4,7 +4,9 @@ import com.restaurant.food.controller.dto.FoodRequest;
 import com.restaurant.food.repository.FoodRepository;
 import com.restaurant.food.repository.dto.FoodModel;
 import com.restaurant.food.service.BaseFoodService;
+import com.restaurant.food.service.FoodSearchIndex;
 import com.restaurant.food.service.dto.Food;
+import com.restaurant.food.service.dto.FoodKey;
 import com.restaurant.services.BaseTestUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,7 +17,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
@@ -29,6 +33,9 @@ class BaseFoodServiceTest extends BaseTestUseCase {
     @Mock
     private FoodRepository foodRepository;
 
+    @Mock
+    private FoodSearchIndex foodSearchIndex;
+
     @Test
     @DisplayName("Should insert and return food")
     void shouldInsertFood() {
@@ -54,11 +61,8 @@ class BaseFoodServiceTest extends BaseTestUseCase {
         Long categoryId = 1L;
         Long positionId = 1L;
         boolean existsByPositionId = true;
-        FoodModel foodModel = getFoodModel();
-        List<FoodModel> foodModels = new ArrayList<>();
-        foodModels.add(foodModel);
 
-        when(foodRepository.getFoodByCategoryId(categoryId)).thenReturn(foodModels);
+        when(foodRepository.existsByCategoryIdAndPositionId(categoryId, positionId)).thenReturn(existsByPositionId);
 
         //when
         boolean existsResult = baseFoodService.existsByPositionId(categoryId, positionId);
@@ -142,4 +146,21 @@ class BaseFoodServiceTest extends BaseTestUseCase {
         //then
         assertEquals(food, foodResult);
     }
+
+    @Test
+    @DisplayName("Should get food by name and price keys in one lookup")
+    void shouldGetFoodByNameAndPriceKeys() {
+        //given
+        FoodKey beerKey = new FoodKey("Beer", 5000L);
+        FoodKey cheaperBeerKey = new FoodKey("Beer", 4500L);
+        List<FoodModel> foodModels = List.of(getFoodModel());
+
+        when(foodRepository.getFoodByFoodNames(Set.of("Beer"))).thenReturn(foodModels);
+
+        //when
+        Map<FoodKey, Food> foodResult = baseFoodService.getFoodByKeys(Set.of(beerKey, cheaperBeerKey));
+
+        //then
+        assertEquals(Map.of(beerKey, getFood()), foodResult);
+    }
 }
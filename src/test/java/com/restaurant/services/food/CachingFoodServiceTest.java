@@ -0,0 +1,81 @@
+package com.restaurant.services.food;
+
+import com.restaurant.category.service.CategoryService;
+import com.restaurant.category.service.dto.Category;
+import com.restaurant.common.MenuCache;
+import com.restaurant.food.service.CachingFoodService;
+import com.restaurant.food.service.FoodService;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingFoodServiceTest extends BaseTestUseCase {
+
+    @Mock
+    private FoodService foodService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Test
+    @DisplayName("Should cache food of listed category only")
+    void shouldCacheFoodOfListedCategoryOnly() {
+        //given
+        var cachingFoodService = new CachingFoodService(foodService, categoryService, new MenuCache(0L));
+        var food = List.of(new Food(1L, 1L, 1L, "French fries", 12D));
+
+        when(categoryService.getAll()).thenReturn(List.of(new Category(1L, 1L, "Side Dishes")));
+        when(foodService.getFoodByCategoryId(1L)).thenReturn(food);
+        when(foodService.getFoodByCategoryId(2L)).thenReturn(List.of());
+
+        //when
+        cachingFoodService.getFoodByCategoryId(1L);
+        var listedFood = cachingFoodService.getFoodByCategoryId(1L);
+        cachingFoodService.getFoodByCategoryId(2L);
+        var unlistedFood = cachingFoodService.getFoodByCategoryId(2L);
+
+        //then
+        assertEquals(food, listedFood);
+        assertEquals(List.of(), unlistedFood);
+        verify(foodService).getFoodByCategoryId(1L);
+        verify(foodService, times(2)).getFoodByCategoryId(2L);
+    }
+
+    @Test
+    @DisplayName("Should get food of listed category from cached menu")
+    void shouldGetFoodOfListedCategoryFromCachedMenu() {
+        //given
+        var cachingFoodService = new CachingFoodService(foodService, categoryService, new MenuCache(0L));
+        var food = new Food(1L, 1L, 1L, "French fries", 12D);
+
+        when(categoryService.getAll()).thenReturn(List.of(new Category(1L, 1L, "Side Dishes")));
+        when(foodService.getFoodByCategoryId(1L)).thenReturn(List.of(food));
+        when(foodService.getFoodByCategoryIdAndFoodId(2L, 1L)).thenReturn(Optional.empty());
+
+        //when
+        var listedFood = cachingFoodService.getFoodByCategoryIdAndFoodId(1L, 1L);
+        var missingFood = cachingFoodService.getFoodByCategoryIdAndFoodId(1L, 2L);
+        var unlistedFood = cachingFoodService.getFoodByCategoryIdAndFoodId(2L, 1L);
+
+        //then
+        assertEquals(Optional.of(food), listedFood);
+        assertEquals(Optional.empty(), missingFood);
+        assertEquals(Optional.empty(), unlistedFood);
+        verify(foodService).getFoodByCategoryId(1L);
+        verify(foodService, never()).getFoodByCategoryIdAndFoodId(1L, 1L);
+    }
+}
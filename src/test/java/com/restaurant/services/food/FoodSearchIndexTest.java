@@ -0,0 +1,89 @@
+package com.restaurant.services.food;
+
+import com.restaurant.food.service.FoodSearchIndex;
+import com.restaurant.food.service.dto.Food;
+import com.restaurant.services.BaseTestUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FoodSearchIndexTest extends BaseTestUseCase {
+
+    private static final int LIMIT = 10;
+
+    private final List<Food> food = List.of(
+            new Food(1L, 1L, 1L, "French fries", 12D),
+            new Food(2L, 1L, 2L, "Fries with cheese", 15D),
+            new Food(3L, 2L, 1L, "Żurek", 18D),
+            new Food(4L, 2L, 2L, "Tomato soup", 14D)
+    );
+
+    @Test
+    @DisplayName("Should rank exact name before name prefix and word prefix")
+    void shouldRankExactNameBeforeNamePrefixAndWordPrefix() {
+        //given
+        var foodSearchIndex = new FoodSearchIndex();
+
+        //when
+        var foodResult = foodSearchIndex.search("fries", LIMIT, () -> food);
+
+        //then
+        assertEquals(List.of(2L, 1L), getFoodIds(foodResult));
+    }
+
+    @Test
+    @DisplayName("Should find food by name with typo and without diacritics")
+    void shouldFindFoodByNameWithTypoAndWithoutDiacritics() {
+        //given
+        var foodSearchIndex = new FoodSearchIndex();
+
+        //when
+        var typoResult = foodSearchIndex.search("frech frise", LIMIT, () -> food);
+        var diacriticsResult = foodSearchIndex.search("zurek", LIMIT, () -> food);
+
+        //then
+        assertEquals(1L, typoResult.get(0).foodId());
+        assertEquals(List.of(3L), getFoodIds(diacriticsResult));
+    }
+
+    @Test
+    @DisplayName("Should apply inserted, updated and removed food")
+    void shouldApplyInsertedUpdatedAndRemovedFood() {
+        //given
+        var foodSearchIndex = new FoodSearchIndex();
+        foodSearchIndex.search("soup", LIMIT, () -> food);
+
+        //when
+        foodSearchIndex.put(new Food(5L, 2L, 3L, "Mushroom soup", 16D));
+        foodSearchIndex.put(new Food(4L, 2L, 2L, "Tomato cream", 14D));
+        foodSearchIndex.remove(1L);
+        foodSearchIndex.removeByCategoryId(3L);
+
+        //then
+        assertEquals(List.of(5L), getFoodIds(foodSearchIndex.search("soup", LIMIT, List::of)));
+        assertEquals(List.of(4L), getFoodIds(foodSearchIndex.search("tom cre", LIMIT, List::of)));
+        assertEquals(List.of(2L), getFoodIds(foodSearchIndex.search("fries", LIMIT, List::of)));
+    }
+
+    @Test
+    @DisplayName("Should not return food that does not match query")
+    void shouldNotReturnFoodThatDoesNotMatchQuery() {
+        //given
+        var foodSearchIndex = new FoodSearchIndex();
+
+        //when
+        var foodResult = foodSearchIndex.search("pizza", LIMIT, () -> food);
+
+        //then
+        assertEquals(List.of(), foodResult);
+    }
+
+    private List<Long> getFoodIds(List<Food> food) {
+        return food.stream()
+                .map(Food::foodId)
+                .toList();
+    }
+}